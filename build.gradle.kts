@@ -4,10 +4,11 @@ plugins {
     `maven-publish`
     signing
     checkstyle
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "io.github.pavelicii"
-version = "1.0.1"
+version = "2.0.0"
 
 repositories {
     mavenCentral()
@@ -20,6 +21,26 @@ java {
     withSourcesJar()
 }
 
+// JDK Flight Recorder API is compiled for Java 11 and packaged as multi-release classes, loaded only when available
+val java11: SourceSet by sourceSets.creating {
+    java.setSrcDirs(listOf("src/main/java11"))
+    compileClasspath += sourceSets.main.get().output
+}
+tasks.named<JavaCompile>(java11.compileJavaTaskName) {
+    options.release.set(11)
+}
+tasks.jar {
+    into("META-INF/versions/11") {
+        from(java11.output)
+    }
+    manifest {
+        attributes("Multi-Release" to "true")
+    }
+}
+sourceSets.test {
+    runtimeClasspath += java11.output
+}
+
 checkstyle {
     toolVersion = "9.3" // Latest version compatible with Java 8
     sourceSets = listOf() // Don't check anything with Checkstyle during 'check' task
@@ -42,6 +63,12 @@ tasks.test {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    profilers.set(listOf("gc")) // Report allocation rate along with time
+    includes.set(listOf(project.findProperty("jmhIncludes")?.toString() ?: ".*"))
+}
+
 tasks.withType<Javadoc> {
     (options as StandardJavadocDocletOptions).addStringOption("Xdoclint:none", "-quiet")
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures verification that generated {@link Case}s cover all expected test combinations, both as the check done
+ * by the tests after each generation and through {@link AllPairs#verifyCoverage(Iterable)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverageBenchmark {
+
+    @Param({"FEW_HUGE_PARAMETERS", "LARGE_PAIRWISE"})
+    private ModelShape shape;
+
+    private AllPairs allPairs;
+    private List<Case> cases;
+    private List<Map<String, Object>> expectedTestCombinations;
+
+    @Setup
+    public void setUp() {
+        this.allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(this.shape.createParameters())
+                .withConstraints(this.shape.createConstraints())
+                .withGenerationStrategy(GenerationStrategy.IPOG)
+                .build();
+        this.cases = this.allPairs.getGeneratedCases();
+        this.expectedTestCombinations = this.allPairs.getExpectedUniqueTestCombinations();
+    }
+
+    @Benchmark
+    public boolean findGeneratedTestCombinations() {
+        return new HashSet<>(this.allPairs.findGeneratedUniqueTestCombinations(this.cases))
+                .containsAll(this.expectedTestCombinations);
+    }
+
+    @Benchmark
+    public boolean verifyCoverage() {
+        return this.allPairs.verifyCoverage(this.cases).isComplete();
+    }
+}
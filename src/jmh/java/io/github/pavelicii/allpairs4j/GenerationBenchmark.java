@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures {@link AllPairs.AllPairsBuilder#build()} with eager generation across model shapes and test combination
+ * sizes, with and without constraints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"MANY_SMALL_PARAMETERS", "FEW_HUGE_PARAMETERS"})
+    private ModelShape shape;
+
+    @Param({"2", "3", "4"})
+    private int testCombinationSize;
+
+    @Param({"false", "true"})
+    private boolean constrained;
+
+    private List<Parameter> parameters;
+    private List<Predicate<ConstrainableCase>> constraints;
+
+    @Setup
+    public void setUp() {
+        this.parameters = this.shape.createParameters();
+        this.constraints = this.constrained ? this.shape.createConstraints() : Collections.emptyList();
+    }
+
+    @Benchmark
+    public AllPairs build() {
+        return new AllPairs.AllPairsBuilder()
+                .withParameters(this.parameters)
+                .withConstraints(this.constraints)
+                .withTestCombinationSize(this.testCombinationSize)
+                .build();
+    }
+}
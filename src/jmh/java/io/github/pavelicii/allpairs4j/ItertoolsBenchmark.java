@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures full iteration over {@link Itertools#combinations(List, int)} of {@link Parameter}s and over
+ * {@link Itertools#product(List)} of their values, as done for each {@link Parameter} subset, and over the same
+ * {@link Parameter} subsets as indexes, from {@link Itertools#combinationTable(int, int)} and advanced in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItertoolsBenchmark {
+
+    @Param({"2", "3", "4"})
+    private int testCombinationSize;
+
+    private List<List<Item>> itemMatrix;
+    private int[] combinationTable;
+
+    @Setup
+    public void setUp() {
+        this.itemMatrix = AllPairs.createItemMatrix(ModelShape.LARGE_PAIRWISE.createParameters());
+        this.combinationTable = Itertools.combinationTable(this.itemMatrix.size(), this.testCombinationSize);
+    }
+
+    @Benchmark
+    public void combinations(Blackhole blackhole) {
+        for (List<List<Item>> combination : Itertools.combinations(this.itemMatrix, this.testCombinationSize)) {
+            blackhole.consume(combination);
+        }
+    }
+
+    @Benchmark
+    public void product(Blackhole blackhole) {
+        for (List<Item> items : Itertools.product(this.itemMatrix.subList(0, this.testCombinationSize))) {
+            blackhole.consume(items);
+        }
+    }
+
+    @Benchmark
+    public int combinationTable() {
+        int sum = 0;
+        for (int parameterIndex : this.combinationTable) {
+            sum += parameterIndex;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int nextSubset() {
+        final int[] subset = new int[this.testCombinationSize];
+        for (int i = 0; i < subset.length; i++) {
+            subset[i] = i;
+        }
+        int sum = 0;
+        do {
+            for (int parameterIndex : subset) {
+                sum += parameterIndex;
+            }
+        } while (CombinationIndex.nextSubset(subset, this.itemMatrix.size()));
+        return sum;
+    }
+}
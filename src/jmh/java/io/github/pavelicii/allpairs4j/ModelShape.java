@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Shapes of benchmarked models, each with its set of constraints.
+ */
+enum ModelShape {
+
+    /** Many {@link Parameter}s with few values each, typical for configuration flags. */
+    MANY_SMALL_PARAMETERS(6, 3),
+    /** Few {@link Parameter}s with many values each, typical for enumerated inputs. */
+    FEW_HUGE_PARAMETERS(4, 6),
+    /** Input too large for test combination sizes above {@code 2}. */
+    LARGE_PAIRWISE(30, 8);
+
+    private final int parameterCount;
+    private final int valueCount;
+
+    ModelShape(int parameterCount, int valueCount) {
+        this.parameterCount = parameterCount;
+        this.valueCount = valueCount;
+    }
+
+    List<Parameter> createParameters() {
+        final List<Parameter> parameters = new ArrayList<>();
+        for (int p = 0; p < this.parameterCount; p++) {
+            final List<Object> values = new ArrayList<>();
+            for (int v = 0; v < this.valueCount; v++) {
+                values.add(valueName(p, v));
+            }
+            parameters.add(new Parameter(parameterName(p), values));
+        }
+        return parameters;
+    }
+
+    /**
+     * Creates constraints forbidding one pair of values of each two neighbouring {@link Parameter}s, and one triple
+     * of values spanning the whole model.
+     *
+     * @return constraints
+     */
+    List<Predicate<ConstrainableCase>> createConstraints() {
+        final List<Predicate<ConstrainableCase>> constraints = new ArrayList<>();
+        for (int p = 0; p + 1 < this.parameterCount; p += 2) {
+            final String first = parameterName(p);
+            final String second = parameterName(p + 1);
+            final String firstValue = valueName(p, 0);
+            final String secondValue = valueName(p + 1, 1);
+            constraints.add(c -> c.get(first).equals(firstValue) && c.get(second).equals(secondValue));
+        }
+        final int last = this.parameterCount - 1;
+        final String first = parameterName(0);
+        final String second = parameterName(1);
+        final String lastName = parameterName(last);
+        final String firstValue = valueName(0, 1);
+        final String secondValue = valueName(1, 1);
+        final String lastValue = valueName(last, 0);
+        constraints.add(c -> c.get(first).equals(firstValue)
+                && c.get(second).equals(secondValue)
+                && c.get(lastName).equals(lastValue));
+        return constraints;
+    }
+
+    private static String parameterName(int parameterIndex) {
+        return "P" + parameterIndex;
+    }
+
+    private static String valueName(int parameterIndex, int valueIndex) {
+        return parameterName(parameterIndex) + "-" + valueIndex;
+    }
+}
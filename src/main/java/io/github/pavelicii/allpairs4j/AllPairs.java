@@ -16,8 +16,10 @@
 
 package io.github.pavelicii.allpairs4j;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,9 +28,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -42,27 +50,121 @@ public final class AllPairs implements Iterable<Case> {
     /** Test combination size. */
     private final int n;
     private final boolean printEachCaseDuringGeneration;
+    private final boolean generateCasesLazily;
+    private final boolean pruneValuesByForwardChecking;
+    private final GenerationStrategy generationStrategy;
+    private final Executor candidateScoringExecutor;
+    private final List<GenerationListener> generationListeners;
+    /** Maximum duration of each generation run, {@code null} if not limited. */
+    private final Duration timeLimit;
+    private final int maxCaseCount;
+    /** Value index of each {@link Parameter} in each seed {@link Case}, {@code -1} for {@link Parameter}s it lacks. */
+    private final List<int[]> seedTests;
 
-    private final CombinationStorage combinationStorage;
-    /** Expected unique {@code n}-wise test combinations (considering constraints). */
-    private final List<Map<String, Object>> expectedUniqueTestCombinations;
+    /**
+     * Expected unique {@code n}-wise test combinations (considering constraints). Found when first needed, which
+     * never happens if {@link Case}s are read from {@link SuiteCache} and coverage is not verified.
+     */
+    private CombinationBitSet expectedUniqueTestCombinations;
+    /** Expected unique {@code n}-wise test combinations as {@link Map}s. Created only when requested. */
+    private List<Map<String, Object>> expectedUniqueTestCombinationMaps;
+    /**
+     * {@code n}-wise test combinations passing constraints on their own, but not contained in any valid case.
+     * Found along with {@link AllPairs#expectedUniqueTestCombinations}.
+     */
+    private CombinationBitSet infeasibleTestCombinations;
+    /** Infeasible {@code n}-wise test combinations as {@link Map}s. Created only when requested. */
+    private List<Map<String, Object>> infeasibleTestCombinationMaps;
     /** Generated unique {@code n}-wise test combinations. */
     private List<Map<String, Object>> generatedUniqueTestCombinations;
     private final List<List<Item>> itemMatrix;
+    private final CombinationIndex combinationIndex;
+    /** {@link Parameter} indexes mapped to {@link Parameter} names, shared by all {@link ConstrainableCase}s. */
+    private final Map<String, Integer> parameterIndexes;
+    private final ConstraintScopes constraintScopes;
+    private final CoverageVerifier coverageVerifier;
+    /** Precomputed results by constraint index, {@code null} for constraints tested directly. */
+    private final ConstraintTable[] constraintTables;
+    /** {@link ForkJoinPool} to find expected test combinations on, or {@code null} to find them in place. */
+    private final ForkJoinPool forkJoinPool;
+    /** Cache of generated {@link Case}s, or {@code null} if not enabled or the input has no fingerprint. */
+    private final SuiteCache suiteCache;
 
-    private final List<Case> generatedCases;
+    /** Generated test {@link Case}s. Stays {@code null} until requested if {@link Case}s are generated lazily. */
+    private List<Case> generatedCases;
+    /** Coverage reached by {@link AllPairs#generatedCases}. Stays {@code null} until they are generated. */
+    private CoverageReport coverageReport;
 
     private AllPairs(AllPairsBuilder allPairsBuilder) {
         this.parameters = allPairsBuilder.parameters;
         this.constraints = allPairsBuilder.constraints;
         this.n = allPairsBuilder.n;
         this.printEachCaseDuringGeneration = allPairsBuilder.printEachCaseDuringGeneration;
+        this.generateCasesLazily = allPairsBuilder.generateCasesLazily;
+        this.pruneValuesByForwardChecking = allPairsBuilder.pruneValuesByForwardChecking;
+        this.generationStrategy = allPairsBuilder.generationStrategy;
+        this.candidateScoringExecutor = allPairsBuilder.candidateScoringExecutor;
+        this.generationListeners = allPairsBuilder.generationListeners;
+        this.timeLimit = allPairsBuilder.timeLimit;
+        this.maxCaseCount = allPairsBuilder.maxCaseCount;
 
-        this.combinationStorage = new CombinationStorage(this.n);
         this.itemMatrix = createItemMatrix(this.parameters);
-        this.expectedUniqueTestCombinations = findExpectedUniqueTestCombinations();
+        this.combinationIndex = new CombinationIndex(this.parameters, this.n);
+        this.parameterIndexes = new HashMap<>();
+        for (int i = 0; i < this.parameters.size(); i++) {
+            this.parameterIndexes.put(this.parameters.get(i).getName(), i);
+        }
+        this.seedTests = new ArrayList<>();
+        for (Case seedCase : allPairsBuilder.seedCases) {
+            final int[] seedTest = new int[this.parameters.size()];
+            Arrays.fill(seedTest, -1);
+            seedCase.forEach((name, value) -> {
+                final int parameterIndex = this.parameterIndexes.get(name);
+                seedTest[parameterIndex] = this.parameters.get(parameterIndex).indexOf(value);
+            });
+            this.seedTests.add(seedTest);
+        }
+        this.constraintScopes = new ConstraintScopes(this.constraints, this.itemMatrix, this.parameterIndexes);
+        this.coverageVerifier = new CoverageVerifier(this.parameters, this.combinationIndex, this.n);
+        final ConstraintTable[] tables = new ConstraintTable[this.constraints.size()];
+        if (allPairsBuilder.tabulateConstraints || allPairsBuilder.suiteCacheDirectory != null) {
+            for (int c = 0; c < this.constraints.size(); c++) {
+                final int[] scope = this.constraintScopes.getExploredScope(c);
+                if (scope != null) {
+                    tables[c] = ConstraintTable.create(
+                            this.constraints.get(c), scope, this.itemMatrix, this.parameterIndexes
+                    );
+                }
+            }
+        }
+        this.constraintTables = allPairsBuilder.tabulateConstraints
+                ? tables
+                : new ConstraintTable[this.constraints.size()];
+        this.forkJoinPool = allPairsBuilder.forkJoinPool;
+        if (!this.seedTests.isEmpty()) {
+            final InfeasibleCombinationFinder seedCompletionFinder = new InfeasibleCombinationFinder(
+                    this, this.itemMatrix
+            );
+            for (int s = 0; s < this.seedTests.size(); s++) {
+                if (!seedCompletionFinder.isCompletable(this.seedTests.get(s))) {
+                    throw new IllegalArgumentException("Seed Case must be possible to complete without violating "
+                            + "constraints. Provided: " + allPairsBuilder.seedCases.get(s));
+                }
+            }
+        }
+        // Constraint tables identify constraints in the fingerprint, whether they are used for generation or not
+        this.suiteCache = allPairsBuilder.suiteCacheDirectory == null || Arrays.asList(tables).contains(null)
+                ? null
+                : new SuiteCache(allPairsBuilder.suiteCacheDirectory, fingerprint(tables), this.parameters,
+                        this.parameterIndexes);
 
-        this.generatedCases = generateCases();
+        final SuiteCache.CachedCases cachedCases = this.suiteCache == null ? null : this.suiteCache.read();
+        if (cachedCases != null) {
+            this.generatedCases = cachedCases;
+            this.coverageReport = cachedCases.getCoverageReport(this::findMissingTestCombinations);
+        } else if (!this.generateCasesLazily) {
+            this.generatedCases = generateCases();
+        }
     }
 
     /**
@@ -78,12 +180,34 @@ public final class AllPairs implements Iterable<Case> {
         private final List<Predicate<ConstrainableCase>> constraints;
         private int n;
         private boolean printEachCaseDuringGeneration;
+        private boolean generateCasesLazily;
+        private boolean tabulateConstraints;
+        private boolean pruneValuesByForwardChecking;
+        private GenerationStrategy generationStrategy;
+        private ForkJoinPool forkJoinPool;
+        private Executor candidateScoringExecutor;
+        private final List<GenerationListener> generationListeners;
+        private Duration timeLimit;
+        private int maxCaseCount;
+        private Path suiteCacheDirectory;
+        private final List<Case> seedCases;
 
         public AllPairsBuilder() {
             this.parameters = new ArrayList<>();
             this.constraints = new ArrayList<>();
             this.n = 2;
             this.printEachCaseDuringGeneration = false;
+            this.generateCasesLazily = false;
+            this.tabulateConstraints = false;
+            this.pruneValuesByForwardChecking = false;
+            this.generationStrategy = GenerationStrategy.BACKTRACKING;
+            this.forkJoinPool = null;
+            this.candidateScoringExecutor = null;
+            this.generationListeners = new ArrayList<>();
+            this.timeLimit = null;
+            this.maxCaseCount = Integer.MAX_VALUE;
+            this.suiteCacheDirectory = null;
+            this.seedCases = new ArrayList<>();
         }
 
         /**
@@ -216,6 +340,263 @@ public final class AllPairs implements Iterable<Case> {
             return this;
         }
 
+        /**
+         * Specifies that test {@link Case}s should be generated on demand instead of during
+         * {@link AllPairsBuilder#build()}.
+         * <p>
+         * Each call to {@link AllPairs#iterator()} or {@link AllPairs#stream()} then starts a new generation which
+         * produces the next {@link Case} only when it is requested, so the first {@link Case}s can be consumed while
+         * the rest are not computed yet, and consumed {@link Case}s are not retained. All such generations return
+         * the same {@link Case}s in the same order. {@link AllPairs#getGeneratedCases()} is still available: the
+         * first call generates all {@link Case}s and keeps them for subsequent calls and iterations.
+         * <p>
+         * If not specified, all {@link Case}s are generated during {@link AllPairsBuilder#build()}.
+         *
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder generateCasesLazily() {
+            this.generateCasesLazily = true;
+            return this;
+        }
+
+        /**
+         * Specifies that constraints should be tested against all value combinations of the {@link Parameter}s they
+         * read during {@link AllPairsBuilder#build()}, so that generation looks the results up instead of
+         * testing constraints again.
+         * <p>
+         * {@link Parameter}s read by each constraint are found by testing it with different values. A constraint is
+         * tabulated if it reads a few {@link Parameter}s with up to {@code 65536} combinations of values, including
+         * {@link Parameter}s having no value yet. Other constraints are tested during generation as usual.
+         * Generated {@link Case}s are the same either way.
+         * <ul>
+         *     <li>Constraints must always give the same result for the same values
+         *     <li>If not specified, constraints are tested every time during generation
+         * </ul>
+         *
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder tabulateConstraints() {
+            this.tabulateConstraints = true;
+            return this;
+        }
+
+        /**
+         * Specifies that {@link GenerationStrategy#BACKTRACKING} should prune values of later {@link Parameter}s
+         * which are bound to violate constraints given the values already chosen, and reject a value leaving some
+         * later {@link Parameter} with no values at once, instead of finding it out by trying them.
+         * <p>
+         * This saves most of the search on inputs where constraints often lead to dead ends. But the
+         * {@link Parameter}s between the rejected value and the emptied {@link Parameter} are then not tried, so
+         * equally good values of theirs may be tried in another order in the following {@link Case}s, and the suite
+         * may differ. Most suites stay the same, but some were found to have up to {@code 18%} more {@link Case}s,
+         * and others fewer. The suites are as valid and complete either way.
+         * <ul>
+         *     <li>Has no effect on {@link GenerationStrategy#IPOG}
+         *     <li>If not specified, values are tried one by one and rejected when they violate constraints
+         * </ul>
+         *
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder pruneValuesByForwardChecking() {
+            this.pruneValuesByForwardChecking = true;
+            return this;
+        }
+
+        /**
+         * Specifies algorithm used to generate test {@link Case}s.
+         * <p>
+         * All algorithms cover all expected {@code n}-wise test combinations (considering constraints), but produce
+         * different {@link Case}s. {@link GenerationStrategy#IPOG} is usually much faster for large numbers of
+         * {@link Parameter}s, but finds all {@link Case}s before returning the first one even if they are generated
+         * lazily.
+         * <p>
+         * If not specified, {@link GenerationStrategy#BACKTRACKING} will be used.
+         *
+         * @param generationStrategy {@link GenerationStrategy}
+         * @return a reference to {@link AllPairsBuilder} object
+         * @see GenerationStrategy
+         */
+        public AllPairsBuilder withGenerationStrategy(GenerationStrategy generationStrategy) {
+            Objects.requireNonNull(generationStrategy, "GenerationStrategy must be non-null");
+            this.generationStrategy = generationStrategy;
+            return this;
+        }
+
+        /**
+         * Specifies {@link ForkJoinPool} to find expected {@code n}-wise test combinations in parallel.
+         * <p>
+         * Checking every {@code n}-wise test combination against constraints may take most of the build time
+         * for large constrained inputs. With {@link ForkJoinPool} specified, test combinations are split into ranges
+         * checked concurrently. The result is the same as without it.
+         * <ul>
+         *     <li>Constraints must be safe to evaluate from multiple threads at once
+         *     <li>Test combinations are checked when first needed, which is during {@link AllPairsBuilder#build()}
+         *     unless {@link Case}s are generated lazily or read from the suite cache
+         *     <li>If not specified, all test combinations are checked in the thread needing them
+         * </ul>
+         *
+         * @param forkJoinPool {@link ForkJoinPool} to check test combinations on
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder withForkJoinPool(ForkJoinPool forkJoinPool) {
+            Objects.requireNonNull(forkJoinPool, "ForkJoinPool must be non-null");
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        /**
+         * Specifies {@link Executor} to weigh candidate values of a {@link Parameter} concurrently.
+         * <p>
+         * When choosing a value for the next {@link Parameter} of a {@link Case}, every value of the {@link Parameter}
+         * is weighed by the number of new test combinations it would produce. For {@link Parameter}s with dozens or
+         * hundreds of values these independent computations are split into tasks run on the {@link Executor}.
+         * Values are still ordered in the thread running generation, so generated {@link Case}s are the same
+         * as without it.
+         * <p>
+         * If not specified, values are weighed in the thread running generation.
+         *
+         * @param executor {@link Executor} to weigh values on
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder withCandidateScoringExecutor(Executor executor) {
+            Objects.requireNonNull(executor, "Executor must be non-null");
+            this.candidateScoringExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Adds {@link GenerationListener} to be notified about each generated {@link Case}.
+         * <p>
+         * Each {@link GenerationEvent} reports the {@link Case}, the test combinations it newly covered and
+         * the work spent on finding it. Listeners are called in the order they were added, for every generation
+         * run: during {@link AllPairsBuilder#build()}, or for each iteration if {@link Case}s are generated lazily.
+         * <p>
+         * On Java 11 or later, the same data is also published as JDK Flight Recorder events named
+         * {@code io.github.pavelicii.allpairs4j.CaseGenerated}, regardless of listeners.
+         *
+         * @param generationListener {@link GenerationListener}
+         * @return a reference to {@link AllPairsBuilder} object
+         * @see GenerationListener
+         */
+        public AllPairsBuilder withGenerationListener(GenerationListener generationListener) {
+            Objects.requireNonNull(generationListener, "GenerationListener must be non-null");
+            this.generationListeners.add(generationListener);
+            return this;
+        }
+
+        /**
+         * Specifies maximum duration of generation. When it is reached, generation stops and keeps the test
+         * {@link Case}s found so far, which may not cover all expected {@code n}-wise test combinations.
+         * <p>
+         * The limit applies to each generation run: during {@link AllPairsBuilder#build()}, or for each iteration if
+         * {@link Case}s are generated lazily. It does not include finding the expected test combinations, which is
+         * done once during {@link AllPairsBuilder#build()}. Generation checks the clock between steps of its search,
+         * and {@link GenerationStrategy#IPOG} then still chooses the missing values of the {@link Case}s found so
+         * far, so generation may take longer than the limit.
+         * <p>
+         * If not specified, generation runs until all expected test combinations are covered.
+         *
+         * @param timeLimit positive {@link Duration}
+         * @return a reference to {@link AllPairsBuilder} object
+         * @see AllPairs#getCoverageReport()
+         */
+        public AllPairsBuilder withTimeLimit(Duration timeLimit) {
+            Objects.requireNonNull(timeLimit, "Time limit must be non-null");
+            this.timeLimit = timeLimit;
+            return this;
+        }
+
+        /**
+         * Specifies maximum number of test {@link Case}s to generate. When it is reached, generation stops even if
+         * some expected {@code n}-wise test combinations are not covered yet.
+         * <p>
+         * {@link Case}s are generated in the same order as without the limit, so the result is the beginning of
+         * the full suite, where each {@link Case} covers as many new test combinations as possible.
+         * {@link GenerationStrategy#IPOG} still finds all {@link Case}s before returning the first one, so the limit
+         * makes the suite smaller, but not faster to generate.
+         * <p>
+         * If not specified, the number of {@link Case}s is not limited.
+         *
+         * @param maxCaseCount positive number of {@link Case}s
+         * @return a reference to {@link AllPairsBuilder} object
+         * @see AllPairs#getCoverageReport()
+         */
+        public AllPairsBuilder withMaxCaseCount(int maxCaseCount) {
+            this.maxCaseCount = maxCaseCount;
+            return this;
+        }
+
+        /**
+         * Adds one test {@link Case} to start the suite with, such as a {@link Case} which must be tested anyway or
+         * one of the {@link Case}s of a previous suite.
+         * <p>
+         * Seed {@link Case}s are generated first, in the order they were added, and followed only by the
+         * {@link Case}s needed to cover the test combinations they miss. A seed {@link Case} may specify values of
+         * some {@link Parameter}s only, the others are chosen by generation as in any other {@link Case}.
+         * <ul>
+         *     <li>Keys must be {@link Parameter} names, values must be values of these {@link Parameter}s
+         *     <li>It must be possible to complete the seed {@link Case} without violating constraints
+         *     <li>Seed {@link Case}s count towards the maximum number of {@link Case}s
+         * </ul>
+         * <strong>Examples:</strong>
+         * <pre>{@code
+         *     new Case("Browser", "Safari", "OS", "macOS")
+         * }</pre>
+         *
+         * @param seedCase {@link Case}
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder withSeedCase(Case seedCase) {
+            Objects.requireNonNull(seedCase, "Seed Case must be non-null");
+            this.seedCases.add(seedCase);
+            return this;
+        }
+
+        /**
+         * Adds {@link List} of test {@link Case}s to start the suite with.
+         * <p>
+         * For detailed description see {@link AllPairsBuilder#withSeedCase(Case)}.
+         *
+         * @param seedCases {@link List} of {@link Case}s
+         * @return a reference to {@link AllPairsBuilder} object
+         * @see AllPairsBuilder#withSeedCase(Case)
+         */
+        public AllPairsBuilder withSeedCases(List<Case> seedCases) {
+            Objects.requireNonNull(seedCases, "Seed Cases must be non-null");
+            seedCases.forEach(this::withSeedCase);
+            return this;
+        }
+
+        /**
+         * Specifies directory to keep generated test {@link Case}s in between runs. If the directory has
+         * {@link Case}s generated for the same input, {@link AllPairsBuilder#build()} reads them instead of
+         * generating them again. Expected test combinations are then not searched for either, unless coverage is
+         * verified or infeasible test combinations are requested.
+         * <p>
+         * The input is identified by a fingerprint of {@link Parameter} names and values, constraints, test
+         * combination size, {@link GenerationStrategy}, whether values are pruned by forward checking, maximum
+         * number of {@link Case}s and seed {@link Case}s.
+         * Each constraint is identified by its results for all value combinations it reads, so it is tested during
+         * {@link AllPairsBuilder#build()} as with {@link AllPairsBuilder#tabulateConstraints()}.
+         * <ul>
+         *     <li>Values must have a {@code toString()} which is the same in every run
+         *     <li>Constraints must always give the same result for the same values
+         *     <li>If a constraint can't be tabulated, nothing is cached
+         *     <li>{@link Case}s cut short by the time limit are not cached
+         *     <li>Read {@link Case}s are decoded from a memory-mapped file on access, and no
+         *     {@link GenerationListener} events are published for them
+         *     <li>If not specified, {@link Case}s are generated every time
+         * </ul>
+         *
+         * @param directory directory to keep cache files in, created if missing
+         * @return a reference to {@link AllPairsBuilder} object
+         */
+        public AllPairsBuilder withSuiteCache(Path directory) {
+            Objects.requireNonNull(directory, "Suite cache directory must be non-null");
+            this.suiteCacheDirectory = directory;
+            return this;
+        }
+
         /**
          * Using provided configuration, builds a new instance of {@link AllPairs} with generated test {@link Case}s.
          *
@@ -238,6 +619,15 @@ public final class AllPairs implements Iterable<Case> {
                 ));
             }
 
+            if (this.timeLimit != null && (this.timeLimit.isNegative() || this.timeLimit.isZero())) {
+                throw new IllegalArgumentException("Time limit must be positive. Provided: " + this.timeLimit);
+            }
+
+            if (this.maxCaseCount < 1) {
+                throw new IllegalArgumentException("Maximum number of Cases must be positive. Provided: "
+                        + this.maxCaseCount);
+            }
+
             this.parameters.forEach(parameter -> {
                 if (parameter.isEmpty()) {
                     throw new IllegalArgumentException("Each Parameter must have at least one value. "
@@ -269,6 +659,21 @@ public final class AllPairs implements Iterable<Case> {
                         "Parameter name must be unique. Provided non-unique names: " + nonUniqueParameterNames
                 );
             }
+
+            final Map<String, Parameter> parametersByName = this.parameters.stream()
+                    .collect(Collectors.toMap(Parameter::getName, parameter -> parameter));
+            this.seedCases.forEach(seedCase -> seedCase.forEach((name, value) -> {
+                if (!parametersByName.containsKey(name)) {
+                    throw new IllegalArgumentException(
+                            "Seed Case must only have Parameter names as keys. Provided: " + seedCase
+                    );
+                }
+                if (!parametersByName.get(name).contains(value)) {
+                    throw new IllegalArgumentException(
+                            "Seed Case must only have values of its Parameters. Provided: " + seedCase
+                    );
+                }
+            }));
         }
     }
 
@@ -284,25 +689,161 @@ public final class AllPairs implements Iterable<Case> {
         return this.constraints;
     }
 
+    public GenerationStrategy getGenerationStrategy() {
+        return this.generationStrategy;
+    }
+
     /**
      * Returns generated test {@link Case}s.
+     * <p>
+     * If {@link Case}s are generated lazily, the first call generates all of them.
      *
      * @return {@link List} of {@link Case}s
+     * @see AllPairsBuilder#generateCasesLazily()
      */
     public List<Case> getGeneratedCases() {
+        if (this.generatedCases == null) {
+            this.generatedCases = generateCases();
+        }
         return this.generatedCases;
     }
 
+    /**
+     * Returns coverage of {@code n}-wise test combinations reached by {@link AllPairs#getGeneratedCases()}, and
+     * whether generation stopped because of a limit.
+     * <p>
+     * If {@link Case}s are generated lazily, the first call generates all of them.
+     *
+     * @return {@link CoverageReport}
+     * @see AllPairsBuilder#withTimeLimit(Duration)
+     * @see AllPairsBuilder#withMaxCaseCount(int)
+     */
+    public CoverageReport getCoverageReport() {
+        getGeneratedCases();
+        return this.coverageReport;
+    }
+
+    /**
+     * Checks which expected {@code n}-wise test combinations (considering constraints) are covered by the given test
+     * {@link Case}s, which may be produced by any tool.
+     * <p>
+     * {@link Case}s are iterated once, and each of them is only translated to value indexes and marked in a compact
+     * index of test combinations, so verification takes time proportional to the size of the suite. Entries which are
+     * not values of the {@link Parameter}s of this instance are ignored. To verify a suite without generating one,
+     * build the instance with {@link AllPairsBuilder#generateCasesLazily()}.
+     *
+     * @param cases {@link Case}s to verify
+     * @return {@link CoverageReport} with missing test combinations and no {@link CoverageReport.StopReason}
+     */
+    public CoverageReport verifyCoverage(Iterable<Case> cases) {
+        Objects.requireNonNull(cases, "Cases must be non-null");
+        findExpectedUniqueTestCombinations();
+        final CombinationBitSet coveredCombinations = new CombinationBitSet(this.combinationIndex.size(this.n));
+        final int caseCount = this.coverageVerifier.addCoveredCombinations(cases, coveredCombinations);
+        return new CoverageReport(
+                null,
+                caseCount,
+                coveredCombinations.intersectionCardinality(this.expectedUniqueTestCombinations),
+                this.expectedUniqueTestCombinations.cardinality(),
+                () -> createTestCombinationMaps(index -> this.expectedUniqueTestCombinations.get(index)
+                        && !coveredCombinations.get(index))
+        );
+    }
+
     /**
      * Returns expected unique {@code n}-wise tests combinations (considering constraints).
+     * <p>
+     * The {@link Map}s are created on the first call, generation itself only needs
+     * {@link AllPairs#getExpectedUniqueTestCombinationsCount()}.
      *
      * @return {@link List} of {@link Map}s of {@code n}-wise test combinations, where key and value corresponds to
      *     a {@link Parameter}'s name and one of its values respectively
      */
     List<Map<String, Object>> getExpectedUniqueTestCombinations() {
+        if (this.expectedUniqueTestCombinationMaps == null) {
+            findExpectedUniqueTestCombinations();
+            this.expectedUniqueTestCombinationMaps =
+                    createTestCombinationMaps(this.expectedUniqueTestCombinations::get);
+        }
+        return this.expectedUniqueTestCombinationMaps;
+    }
+
+    /**
+     * Returns {@code n}-wise test combinations which pass constraints on their own, but can't be covered by any
+     * {@link Case} passing constraints. Such test combinations are excluded from the expected ones, so generation
+     * doesn't try to cover them.
+     * <p>
+     * For example, if {@code Browser} has values {@code Chrome} and {@code Safari}, and constraints forbid
+     * {@code OS=Linux} with {@code Browser=Safari} and {@code Browser=Chrome} with {@code Drive=HDD}, then
+     * combination {@code {OS=Linux, Drive=HDD}} is infeasible, even though no constraint reads both of them.
+     *
+     * @return {@link List} of {@link Map}s of {@code n}-wise test combinations, where key and value corresponds to
+     *     a {@link Parameter}'s name and one of its values respectively
+     */
+    public List<Map<String, Object>> getInfeasibleTestCombinations() {
+        if (this.infeasibleTestCombinationMaps == null) {
+            findExpectedUniqueTestCombinations();
+            this.infeasibleTestCombinationMaps = createTestCombinationMaps(this.infeasibleTestCombinations::get);
+        }
+        return this.infeasibleTestCombinationMaps;
+    }
+
+    /**
+     * Returns the number of expected unique {@code n}-wise tests combinations (considering constraints).
+     *
+     * @return number of {@code n}-wise test combinations
+     */
+    long getExpectedUniqueTestCombinationsCount() {
+        return getExpectedUniqueTestCombinationSet().cardinality();
+    }
+
+    CombinationBitSet getExpectedUniqueTestCombinationSet() {
+        findExpectedUniqueTestCombinations();
         return this.expectedUniqueTestCombinations;
     }
 
+    boolean isPruneValuesByForwardChecking() {
+        return this.pruneValuesByForwardChecking;
+    }
+
+    boolean isPrintEachCaseDuringGeneration() {
+        return this.printEachCaseDuringGeneration;
+    }
+
+    List<GenerationListener> getGenerationListeners() {
+        return this.generationListeners;
+    }
+
+    Duration getTimeLimit() {
+        return this.timeLimit;
+    }
+
+    int getMaxCaseCount() {
+        return this.maxCaseCount;
+    }
+
+    /**
+     * Returns value indexes of the seed {@link Case}s, which must not be modified.
+     *
+     * @return value index of each {@link Parameter} in each seed {@link Case}, {@code -1} for {@link Parameter}s
+     *     it lacks
+     */
+    List<int[]> getSeedTests() {
+        return this.seedTests;
+    }
+
+    Executor getCandidateScoringExecutor() {
+        return this.candidateScoringExecutor;
+    }
+
+    ConstraintScopes getConstraintScopes() {
+        return this.constraintScopes;
+    }
+
+    CombinationIndex getCombinationIndex() {
+        return this.combinationIndex;
+    }
+
     /**
      * Returns generated unique {@code n}-wise tests combinations.
      *
@@ -311,14 +852,42 @@ public final class AllPairs implements Iterable<Case> {
      */
     List<Map<String, Object>> getGeneratedUniqueTestCombinations() {
         if (this.generatedUniqueTestCombinations == null) {
-            this.generatedUniqueTestCombinations = findGeneratedUniqueTestCombinations();
+            this.generatedUniqueTestCombinations = findGeneratedUniqueTestCombinations(getGeneratedCases());
         }
         return this.generatedUniqueTestCombinations;
     }
 
+    /**
+     * Returns {@link Iterator} over generated test {@link Case}s.
+     * <p>
+     * If {@link Case}s are generated lazily and {@link AllPairs#getGeneratedCases()} was not called yet, each
+     * {@link Case} is generated only when the {@link Iterator} is advanced to it.
+     *
+     * @return {@link Iterator} over {@link Case}s
+     * @see AllPairsBuilder#generateCasesLazily()
+     */
     @Override
     public Iterator<Case> iterator() {
-        return this.generatedCases.iterator();
+        if (this.generatedCases != null) {
+            return this.generatedCases.iterator();
+        }
+        return this.generationStrategy.createCaseGenerator(this);
+    }
+
+    /**
+     * Returns sequential {@link Stream} of generated test {@link Case}s.
+     * <p>
+     * If {@link Case}s are generated lazily and {@link AllPairs#getGeneratedCases()} was not called yet, each
+     * {@link Case} is generated only when the {@link Stream} pulls it.
+     *
+     * @return {@link Stream} of {@link Case}s
+     * @see AllPairsBuilder#generateCasesLazily()
+     */
+    public Stream<Case> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
     }
 
     @Override
@@ -333,135 +902,70 @@ public final class AllPairs implements Iterable<Case> {
         }
     }
 
-    private List<Case> generateCases() {
-        final List<Case> cases = new ArrayList<>();
-
-        int caseCount = 0;
-        while (true) {
-            final Case nextCase = generateNextCase();
-            if (nextCase == null) {
-                break;
-            }
-            if (this.printEachCaseDuringGeneration) {
-                System.out.printf("%3d: %s%n", ++caseCount, nextCase);
-            }
-            cases.add(nextCase);
+    /**
+     * Computes the {@link SuiteCache} fingerprint of the input.
+     *
+     * @param tables table of each constraint
+     * @return {@link SuiteCache.Fingerprint#digest()}
+     */
+    private byte[] fingerprint(ConstraintTable[] tables) {
+        final SuiteCache.Fingerprint fingerprint = new SuiteCache.Fingerprint()
+                .addInt(this.n)
+                .addString(this.generationStrategy.name())
+                .addInt(this.pruneValuesByForwardChecking ? 1 : 0)
+                .addInt(this.maxCaseCount)
+                .addParameters(this.parameters)
+                .addInt(tables.length);
+        for (ConstraintTable table : tables) {
+            fingerprint.addConstraintTable(table);
         }
-
-        return cases;
+        fingerprint.addInt(this.seedTests.size());
+        this.seedTests.forEach(fingerprint::addInts);
+        return fingerprint.digest();
     }
 
     /**
-     * Generates next test {@link Case} using AllPairs algorithm.
-     *
-     * @return {@link Case} or {@code null} if all {@link Case}s are already found
+     * Finds expected and infeasible {@code n}-wise test combinations, unless they are already found.
      */
-    private Case generateNextCase() {
-        if (this.combinationStorage.getLength() > this.expectedUniqueTestCombinations.size()) {
-            throw new RuntimeException("Actual number of test combinations exceeded possible maximum");
-        }
-
-        if (this.combinationStorage.getLength() == this.expectedUniqueTestCombinations.size()) {
-            return null; // All test combinations are found
-        }
-
-        final int previousUniqueTestCombinationsCount = this.combinationStorage.getLength();
-        final List<Item> chosenItems = new ArrayList<>();
-        final List<Integer> itemIndexes = new ArrayList<>();
-        for (int i = 0; i < this.itemMatrix.size(); i++) {
-            chosenItems.add(null);
-            itemIndexes.add(null);
-        }
-
-        int direction = 1;
-        int i = 0; // Item group index
-
-        while (i > -1 && i < this.itemMatrix.size()) {
-            if (direction == 1) {
-                updateWeightsAndReSortItemMatrix(chosenItems.subList(0, i), i);
-                itemIndexes.set(i, 0);
-            } else {
-                itemIndexes.set(i, itemIndexes.get(i) + 1);
-                if (itemIndexes.get(i) >= this.itemMatrix.get(i).size()) {
-                    direction = -1;
-                    if (i == 0) {
-                        return null; // Can't find more new test combinations after all values brute force
-                    }
-                    i += direction;
-                    continue;
-                }
-            }
-
-            chosenItems.set(i, this.itemMatrix.get(i).get(itemIndexes.get(i)));
-
-            if (this.constraints == null || this.constraints.isEmpty() || isValidCase(chosenItems.subList(0, i + 1))) {
-                direction = 1;
-            } else {
-                direction = 0;
-            }
-
-            i += direction;
-
-            if (i == this.itemMatrix.size()) {
-                this.combinationStorage.addSequenceCombinations(chosenItems);
-                // Chosen items didn't produce new test combinations
-                if (this.combinationStorage.getLength() == previousUniqueTestCombinationsCount) {
-                    direction = -1;
-                    i += direction;
-                }
-            }
+    private void findExpectedUniqueTestCombinations() {
+        if (this.expectedUniqueTestCombinations == null) {
+            final CombinationBitSet expectedCombinations = new ExpectedCombinationsFinder(
+                    this.itemMatrix, this.combinationIndex, this.n, this::newConstrainableCase, this::isValidCombination
+            ).find(this.forkJoinPool);
+            this.infeasibleTestCombinations = new InfeasibleCombinationFinder(this, this.itemMatrix)
+                    .removeInfeasible(expectedCombinations);
+            this.expectedUniqueTestCombinations = expectedCombinations;
         }
-
-        return new Case(chosenItems);
     }
 
-    private void updateWeightsAndReSortItemMatrix(List<Item> chosenItems, int itemGroupIndex) {
-        for (Item item : this.itemMatrix.get(itemGroupIndex)) {
-            final Node node = this.combinationStorage.getNodeOrCreateNew(item);
-
-            final List<Set<List<String>>> newItemIdCombinations = new ArrayList<>();
-            for (int i = 0; i < this.n; i++) {
-                final List<Item> items = new ArrayList<>(chosenItems);
-                items.add(item);
-
-                final Set<List<String>> newItemIdCombination = StreamSupport
-                        .stream(Itertools.combinations(items, i + 1).spliterator(), false)
-                        .map(itemCombination -> itemCombination.stream()
-                                .map(Item::getItemId)
-                                .collect(Collectors.toList()))
-                        .collect(Collectors.toSet());
-                newItemIdCombination.removeAll(this.combinationStorage.getItemIdCombinations().get(i));
-
-                newItemIdCombinations.add(newItemIdCombination);
-            }
-
-            final List<Integer> weights = new ArrayList<>();
-            // Node that creates most new test combinations is the best
-            weights.add(-newItemIdCombinations.get(newItemIdCombinations.size() - 1).size());
-            // Less used outbound connections are most likely to produce more test combinations
-            weights.add(node.getOutboundItemIdsSize());
-            if (newItemIdCombinations.size() >= 2) {
-                for (int i = newItemIdCombinations.size() - 2; i >= 0; i--) {
-                    weights.add(newItemIdCombinations.get(i).size());
-                }
-            }
-            weights.add(node.getCounter()); // Less used node is better
-            weights.add(-node.getInboundItemIdsSize()); // Prefer node with most free inbound connections
+    /**
+     * Finds expected {@code n}-wise test combinations not covered by {@link AllPairs#getGeneratedCases()}.
+     */
+    private List<Map<String, Object>> findMissingTestCombinations() {
+        return verifyCoverage(getGeneratedCases()).getMissingTestCombinations();
+    }
 
-            item.setWeights(weights);
+    private List<Case> generateCases() {
+        final List<Case> cases = new ArrayList<>();
+        final CaseGenerator caseGenerator = this.generationStrategy.createCaseGenerator(this);
+        caseGenerator.forEachRemaining(cases::add);
+        this.coverageReport = caseGenerator.getCoverageReport(this::findMissingTestCombinations);
+        if (this.suiteCache != null
+                && this.coverageReport.getStopReason() != CoverageReport.StopReason.TIME_LIMIT_REACHED) {
+            this.suiteCache.write(cases, this.coverageReport);
         }
-
-        Collections.sort(this.itemMatrix.get(itemGroupIndex));
+        return cases;
     }
 
-    private List<List<Item>> createItemMatrix(List<Parameter> parameters) {
+    static List<List<Item>> createItemMatrix(List<Parameter> parameters) {
         final List<List<Item>> matrix = new ArrayList<>();
 
         int i = 0;
+        int itemId = 0;
         for (Parameter parameter : parameters) {
             matrix.add(new ArrayList<>());
             for (int j = 0; j < parameter.size(); j++) {
-                matrix.get(i).add(new Item(String.format("a%dv%d", i, j), parameter.get(j), parameter.getName()));
+                matrix.get(i).add(new Item(itemId++, i, j, parameter.get(j), parameter.getName()));
             }
             i++;
         }
@@ -469,37 +973,135 @@ public final class AllPairs implements Iterable<Case> {
         return matrix;
     }
 
+    /**
+     * Creates generated {@link Case} viewing the given value indexes.
+     *
+     * @param valueIndexes value index of each {@link Parameter}, not to be modified afterwards
+     * @return {@link Case} instance
+     */
+    Case newCase(int[] valueIndexes) {
+        return new Case(this.parameters, this.parameterIndexes, valueIndexes);
+    }
+
+    /**
+     * Creates {@link ConstrainableCase} with no {@link Item}s bound, to be reused for testing constraints.
+     *
+     * @return {@link ConstrainableCase} instance
+     */
+    ConstrainableCase newConstrainableCase() {
+        return new ConstrainableCase(this.parameterIndexes);
+    }
+
     /**
      * Tests all constraints.
      *
-     * @param items {@link Item}s {@link List} representing possible {@link Case} to test constraint against
+     * @param constrainableCase {@link ConstrainableCase} with bound {@link Item}s representing possible {@link Case}
+     *                          to test constraint against
      * @return {@code false} if met at least one constraint, {@code true} if met no constraints
      */
-    private boolean isValidCase(List<Item> items) {
+    boolean isValidCase(ConstrainableCase constrainableCase) {
         if (this.constraints.isEmpty()) {
             return true;
         }
 
-        final ConstrainableCase constrainableCase = new ConstrainableCase(items);
-        for (Predicate<ConstrainableCase> constraint : this.constraints) {
-            try {
-                if (constraint.test(constrainableCase)) {
+        for (int c = 0; c < this.constraints.size(); c++) {
+            if (meetsConstraint(c, constrainableCase)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Tests constraints which may read the {@link Parameter}. Other constraints give the same result as before
+     * the {@link Parameter} was bound or changed, so the {@link ConstrainableCase} must have met no constraints then.
+     *
+     * @param constrainableCase {@link ConstrainableCase} with bound {@link Item}s representing possible {@link Case}
+     *                          to test constraint against
+     * @param changedParameterIndex index of the only {@link Parameter} bound or changed since the last test
+     * @return {@code false} if met at least one constraint, {@code true} if met no constraints
+     */
+    boolean isValidCase(ConstrainableCase constrainableCase, int changedParameterIndex) {
+        return findMetConstraint(constrainableCase, changedParameterIndex) < 0;
+    }
+
+    /**
+     * Finds the first constraint met among those which may read the {@link Parameter}.
+     *
+     * @param constrainableCase {@link ConstrainableCase} with bound {@link Item}s representing possible {@link Case}
+     *                          to test constraint against
+     * @param changedParameterIndex index of the only {@link Parameter} bound or changed since the last test
+     * @return index of the met constraint, or {@code -1} if met no constraints
+     * @see AllPairs#isValidCase(ConstrainableCase, int)
+     */
+    int findMetConstraint(ConstrainableCase constrainableCase, int changedParameterIndex) {
+        for (int c : this.constraintScopes.getConstraintsReading(changedParameterIndex)) {
+            if (meetsConstraint(c, constrainableCase)) {
+                return c;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Tests constraints which may read {@link Parameter}s of the test combination, each of them once. Other
+     * constraints read no bound {@link Parameter}s, so they give the same result as for the empty {@link Case},
+     * which is never rejected by constraints with limited scope.
+     *
+     * @param constrainableCase {@link ConstrainableCase} with only the test combination bound
+     * @param subset ascending indexes of {@link Parameter}s of the test combination
+     * @return {@code false} if met at least one constraint, {@code true} if met no constraints
+     */
+    boolean isValidCombination(ConstrainableCase constrainableCase, int[] subset) {
+        for (int j = 0; j < subset.length; j++) {
+            for (int c : this.constraintScopes.getConstraintsReading(subset[j])) {
+                if (!mayReadAnyOf(c, subset, j) && meetsConstraint(c, constrainableCase)) {
                     return false;
                 }
-            } catch (ConstrainableCase.NoSuchParameterNameException ignored) {
-                // NoSuchKeyInCaseException is used for program flow to allow Constraints to work as Predicates
-                // NoSuchKeyInCaseException is optimized to cause as little performance penalty as possible
             }
         }
 
         return true;
     }
 
-    private List<Map<String, Object>> findExpectedUniqueTestCombinations() {
+    /** Tells whether the constraint may read any of the first {@code count} {@link Parameter}s of the subset. */
+    private boolean mayReadAnyOf(int constraintIndex, int[] subset, int count) {
+        for (int j = 0; j < count; j++) {
+            if (this.constraintScopes.mayRead(constraintIndex, subset[j])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests one constraint.
+     *
+     * @param constraintIndex constraint index
+     * @param constrainableCase {@link ConstrainableCase} with bound {@link Item}s representing possible {@link Case}
+     *                          to test constraint against
+     * @return {@code true} if met the constraint
+     */
+    boolean meetsConstraint(int constraintIndex, ConstrainableCase constrainableCase) {
+        constrainableCase.countConstraintEvaluation();
+        final ConstraintTable constraintTable = this.constraintTables[constraintIndex];
+        if (constraintTable != null) {
+            return constraintTable.isMet(constrainableCase);
+        }
+        if (this.constraintScopes.hasDiagram(constraintIndex)) {
+            return this.constraintScopes.isMet(constraintIndex, constrainableCase);
+        }
+        // Only constraints which could not be explored are tested as Predicates, stopped at unbound Parameters
+        return ConstraintScopes.meetsConstraint(this.constraints.get(constraintIndex), constrainableCase);
+    }
+
+    private List<Map<String, Object>> createTestCombinationMaps(LongPredicate testCombinations) {
         return StreamSupport
                 .stream(Itertools.combinations(this.itemMatrix, this.n).spliterator(), false)
                 .flatMap(itemsComb -> StreamSupport.stream(Itertools.product(itemsComb).spliterator(), false))
-                .filter(this::isValidCase)
+                .filter(items -> testCombinations.test(this.combinationIndex.index(items)))
                 .map(items -> items.stream().collect(Collectors.toMap(
                         Item::getName,
                         Item::getValue,
@@ -508,22 +1110,15 @@ public final class AllPairs implements Iterable<Case> {
                 .collect(Collectors.toList());
     }
 
-    private List<Map<String, Object>> findGeneratedUniqueTestCombinations() {
-        return this.generatedCases.stream()
-                .map(aCase -> aCase.entrySet().stream()
-                        .map(entry -> {
-                            final Map<String, Object> parameter = new HashMap<>();
-                            parameter.put(entry.getKey(), entry.getValue());
-                            return parameter;
-                        }).collect(Collectors.toList()))
-                .flatMap(caseAsMapPerValue ->
-                        StreamSupport.stream(Itertools.combinations(caseAsMapPerValue, this.n).spliterator(), false))
-                .distinct()
-                .map(testCombinationAsMapPerValue -> testCombinationAsMapPerValue.stream()
-                        .reduce(new LinkedHashMap<>(), (testCombination, value) -> {
-                            testCombination.putAll(value);
-                            return testCombination;
-                        }))
-                .collect(Collectors.toList());
+    /**
+     * Finds unique {@code n}-wise test combinations of the given {@link Case}s.
+     *
+     * @param cases {@link Case}s to take test combinations from
+     * @return {@link List} of {@link Map}s of {@code n}-wise test combinations
+     */
+    List<Map<String, Object>> findGeneratedUniqueTestCombinations(List<Case> cases) {
+        final CombinationBitSet testCombinations = new CombinationBitSet(this.combinationIndex.size(this.n));
+        this.coverageVerifier.addCoveredCombinations(cases, testCombinations);
+        return createTestCombinationMaps(testCombinations::get);
     }
 }
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * AllPairs algorithm: builds each {@link Case} by choosing {@link Parameter} values one by one, trying the values
+ * producing most new test combinations first and backtracking when a value violates constraints.
+ * <p>
+ * If {@link AllPairs.AllPairsBuilder#pruneValuesByForwardChecking()} is specified, values of later
+ * {@link Parameter}s which are bound to violate constraints are pruned by {@link ForwardChecker}. Pruned values are
+ * skipped without testing constraints, but they stay in their groups and are still weighed and sorted with the
+ * others. Removing them would move them behind the values they are tied with, changing the order of every later
+ * sort and so most suites of constrained inputs, without making them smaller.
+ * <p>
+ * Suites of constrained inputs may still differ from the ones found by trying values alone: a value leaving a later
+ * {@link Parameter} with no values is rejected before the {@link Parameter}s between them are chosen, so their
+ * groups are not re-sorted and equally weighed values may be tried in another order in the following
+ * {@link Case}s. The order of those sorts depends on the whole subtree the trials would have explored, so it can't
+ * be restored without exploring it. Such suites are as valid and complete, but may have up to {@code 18%} more
+ * {@link Case}s, which is why forward checking is off by default.
+ * <p>
+ * Each rejected value is explained by the earlier {@link Parameter}s which caused the rejection, and the reasons of
+ * all values of a {@link Parameter} form its conflict set. When all values are rejected, the search jumps back to the
+ * latest {@link Parameter} of the conflict set rather than to the previous one, as changing the {@link Parameter}s
+ * between them can't help. Conflicts caused by constraints alone are remembered in {@link NoGoodCache}, so that
+ * the same dead end is rejected at once when it is reached again, in this or in the following {@link Case}s. A value
+ * producing no new test combinations is blamed on all earlier {@link Parameter}s, and conflicts including such values
+ * are not remembered, as they depend on which test combinations are covered.
+ * <p>
+ * Seed {@link Case}s are generated first by the same search, where each {@link Parameter} having a seed value
+ * rejects its other values, and a {@link Case} is accepted even if it produces no new test combinations. Conflicts
+ * including rejections of other values are not remembered either. A seed {@link Case} which can't be completed in
+ * time is skipped.
+ *
+ * @see GenerationStrategy#BACKTRACKING
+ */
+final class BacktrackingCaseGenerator extends CaseGenerator {
+
+    /** Value index of a {@link Parameter} which may take any value. */
+    private static final int FREE = -1;
+    /** Number of {@link Item}s weighed by one task when {@link Item}s are weighed concurrently. */
+    private static final int ITEMS_PER_WEIGHING_TASK = 16;
+
+    private final AllPairs allPairs;
+    /** Test combination size. */
+    private final int n;
+    /** Executor to weigh {@link Item}s of large groups concurrently, or {@code null} to weigh them in place. */
+    private final Executor candidateScoringExecutor;
+
+    private final CombinationStorage combinationStorage;
+    private final List<List<Item>> itemMatrix;
+    /** Test combinations of {@link Item}s chosen for the {@link Case} being generated. */
+    private final PrefixCombinations prefixCombinations;
+    /** {@link Item}s chosen for the {@link Case} being generated, bound to test constraints against. */
+    private final ConstrainableCase constrainableCase;
+    /** Prunes values of later {@link Parameter}s, or {@code null} if forward checking is off. */
+    private final ForwardChecker forwardChecker;
+    private final NoGoodCache noGoodCache;
+    /** {@link Parameter} indexes of the scope of each constraint. */
+    private final int[][] constraintScopes;
+    /** Earlier {@link Parameter}s blamed for the values rejected at each depth. */
+    private final BitSet[] conflicts;
+    /** Whether the conflict set of each depth depends on covered test combinations or seed values. */
+    private final boolean[] transientConflicts;
+    /** {@link Item}s chosen for the {@link Case} being generated, by {@link Parameter} index. */
+    private final Item[] chosenItems;
+    /** Index of the chosen {@link Item} within its sorted group, by {@link Parameter} index. */
+    private final int[] itemIndexes;
+    private final List<int[]> seedTests;
+
+    /** Index of the next seed {@link Case} to generate. */
+    private int seedIndex;
+    /** Value index of each {@link Parameter} in the seed {@link Case} being generated, {@code null} if none. */
+    private int[] seedTest;
+
+    BacktrackingCaseGenerator(AllPairs allPairs) {
+        this(allPairs, NoGoodCache.MAX_NO_GOOD_COUNT);
+    }
+
+    /**
+     * Creates {@link BacktrackingCaseGenerator} remembering at most the given number of no-goods.
+     *
+     * @param allPairs {@link AllPairs} providing {@link Parameter}s, constraints and test combination size
+     * @param maxNoGoodCount maximum number of no-goods kept in {@link NoGoodCache}
+     */
+    BacktrackingCaseGenerator(AllPairs allPairs, int maxNoGoodCount) {
+        super(allPairs);
+        this.allPairs = allPairs;
+        this.n = allPairs.getTestCombinationSize();
+        this.candidateScoringExecutor = allPairs.getCandidateScoringExecutor();
+
+        this.combinationStorage = new CombinationStorage(allPairs.getCombinationIndex(), this.n);
+        this.itemMatrix = AllPairs.createItemMatrix(allPairs.getParameters());
+        // Weights of each Item are overwritten in place on every weighing
+        this.itemMatrix.forEach(itemGroup -> itemGroup.forEach(item -> item.setWeights(new int[this.n + 3])));
+        this.prefixCombinations = new PrefixCombinations(
+                allPairs.getCombinationIndex(), this.itemMatrix.size(), this.n
+        );
+        this.constrainableCase = allPairs.newConstrainableCase();
+        this.forwardChecker = allPairs.isPruneValuesByForwardChecking()
+                ? new ForwardChecker(allPairs, this.itemMatrix, this.constrainableCase)
+                : null;
+        this.noGoodCache = new NoGoodCache(this.itemMatrix.size(), maxNoGoodCount);
+        this.constraintScopes = new int[allPairs.getConstraintScopes().getConstraintCount()][];
+        for (int c = 0; c < this.constraintScopes.length; c++) {
+            this.constraintScopes[c] = allPairs.getConstraintScopes().getScope(c);
+        }
+        this.conflicts = new BitSet[this.itemMatrix.size()];
+        for (int p = 0; p < this.conflicts.length; p++) {
+            this.conflicts[p] = new BitSet();
+        }
+        this.transientConflicts = new boolean[this.itemMatrix.size()];
+        this.chosenItems = new Item[this.itemMatrix.size()];
+        this.itemIndexes = new int[this.itemMatrix.size()];
+        this.seedTests = allPairs.getSeedTests();
+    }
+
+    /**
+     * Generates next test {@link Case} using AllPairs algorithm.
+     * <p>
+     * The search state is kept in arrays reused across {@link Case}s, so the search itself allocates nothing
+     * but what it learns and the resulting {@link Case}.
+     *
+     * @return {@link Case} or {@code null} if all {@link Case}s are already found or the time limit is reached
+     */
+    @Override
+    Case generateNextCase() {
+        while (this.seedIndex < this.seedTests.size()) {
+            this.seedTest = this.seedTests.get(this.seedIndex++);
+            final Case seedCase = searchCase();
+            this.seedTest = null;
+            if (seedCase != null || isTimeLimitReached()) {
+                return seedCase;
+            }
+        }
+
+        final long expectedUniqueTestCombinationsCount = this.allPairs.getExpectedUniqueTestCombinationsCount();
+
+        if (this.combinationStorage.getLength() > expectedUniqueTestCombinationsCount) {
+            throw new RuntimeException("Actual number of test combinations exceeded possible maximum");
+        }
+
+        if (this.combinationStorage.getLength() == expectedUniqueTestCombinationsCount) {
+            return null; // All test combinations are found
+        }
+
+        return searchCase();
+    }
+
+    /**
+     * Searches for the next {@link Case}, containing the values of {@code seedTest} if it is set.
+     *
+     * @return {@link Case} or {@code null} if no {@link Case} can be found
+     */
+    private Case searchCase() {
+        final long previousUniqueTestCombinationsCount = this.combinationStorage.getLength();
+        this.constrainableCase.unbindAll();
+        if (this.forwardChecker != null && !this.forwardChecker.start()) {
+            return null; // Some Parameter has no values satisfying constraints
+        }
+
+        int direction = 1;
+        int i = 0; // Item group index
+
+        while (i > -1 && i < this.itemMatrix.size()) {
+            if (isTimeLimitReached()) {
+                return null; // Cases found so far are the best suite available in time
+            }
+            if (direction == 1) {
+                updateWeightsAndReSortItemMatrix(i);
+                this.itemIndexes[i] = 0;
+                if (this.forwardChecker != null) {
+                    this.forwardChecker.enter(i);
+                }
+                this.conflicts[i].clear();
+                this.transientConflicts[i] = false;
+            } else {
+                if (++this.itemIndexes[i] >= this.itemMatrix.get(i).size()) {
+                    direction = -1;
+                    final BitSet conflict = this.conflicts[i];
+                    if (conflict.isEmpty()) {
+                        return null; // Can't find more new test combinations after all values brute force
+                    }
+                    countBacktrack();
+                    if (!this.transientConflicts[i]) {
+                        this.noGoodCache.add(conflict, this.chosenItems);
+                    }
+                    final int conflictDepth = conflict.length() - 1;
+                    for (int depth = i; depth > conflictDepth; depth--) {
+                        this.constrainableCase.unbind(depth);
+                    }
+                    if (this.forwardChecker != null) {
+                        this.forwardChecker.retract(conflictDepth + 1);
+                    }
+                    conflict.clear(conflictDepth);
+                    this.conflicts[conflictDepth].or(conflict);
+                    this.transientConflicts[conflictDepth] |= this.transientConflicts[i];
+                    i = conflictDepth;
+                    continue;
+                }
+            }
+
+            this.chosenItems[i] = this.itemMatrix.get(i).get(this.itemIndexes[i]);
+            this.prefixCombinations.choose(this.chosenItems[i]);
+            this.constrainableCase.bind(this.chosenItems[i]);
+            if (this.forwardChecker != null) {
+                this.forwardChecker.retract(i);
+            }
+
+            direction = isConsistent(i) ? 1 : 0;
+
+            i += direction;
+
+            if (i == this.itemMatrix.size()) {
+                this.combinationStorage.addSequenceCombinations(this.chosenItems);
+                // Chosen items didn't produce new test combinations
+                if (this.seedTest == null
+                        && this.combinationStorage.getLength() == previousUniqueTestCombinationsCount) {
+                    countBacktrack();
+                    direction = -1;
+                    i += direction;
+                    this.conflicts[i].set(0, i);
+                    this.transientConflicts[i] = true;
+                }
+            }
+        }
+
+        final int[] valueIndexes = new int[this.chosenItems.length];
+        for (int p = 0; p < valueIndexes.length; p++) {
+            valueIndexes[p] = this.chosenItems[p].getValueIndex();
+        }
+        return this.allPairs.newCase(valueIndexes);
+    }
+
+    @Override
+    long countCoveredTestCombinations() {
+        return this.combinationStorage.getLength();
+    }
+
+    @Override
+    long countConstraintEvaluations() {
+        return this.constrainableCase.getConstraintEvaluationCount();
+    }
+
+    /**
+     * Tests the {@link Item} just chosen against the seed {@link Case}, constraints, learned no-goods and, with
+     * forward checking, the values left for later {@link Parameter}s. If it is rejected, the {@link Parameter}s to
+     * blame are added to the conflict set of its depth.
+     *
+     * @param depth index of the {@link Parameter} just chosen
+     * @return {@code true} if the search can go deeper
+     */
+    private boolean isConsistent(int depth) {
+        final Item item = this.chosenItems[depth];
+        final BitSet conflict = this.conflicts[depth];
+        if (this.seedTest != null && this.seedTest[depth] != FREE && this.seedTest[depth] != item.getValueIndex()) {
+            this.transientConflicts[depth] = true;
+            return false;
+        }
+        if (this.forwardChecker != null && this.forwardChecker.isPruned(item)) {
+            this.forwardChecker.addPruningReason(item, conflict);
+            return false;
+        }
+        final int metConstraint = this.allPairs.findMetConstraint(this.constrainableCase, depth);
+        if (metConstraint >= 0) {
+            for (int parameterIndex : this.constraintScopes[metConstraint]) {
+                if (parameterIndex < depth) {
+                    conflict.set(parameterIndex);
+                }
+            }
+            return false;
+        }
+        final BitSet noGood = this.noGoodCache.findMatch(depth, this.chosenItems);
+        if (noGood != null) {
+            conflict.or(noGood);
+            conflict.clear(depth);
+            return false;
+        }
+        if (this.forwardChecker != null && !this.forwardChecker.prune(depth)) {
+            this.forwardChecker.addWipeOutReason(conflict);
+            conflict.clear(depth);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Weighs {@link Item}s of the given group against the {@link Item}s chosen for the previous groups and sorts them
+     * from the best to the worst.
+     * <p>
+     * Only test combinations including the weighed {@link Item} are counted. Test combinations of the chosen
+     * {@link Item}s alone are the same for every {@link Item} of the group, so they don't affect the order.
+     * <p>
+     * If candidate scoring executor is specified, {@link Item}s of large groups are weighed concurrently, while
+     * the sort still happens in the current thread. Weighing reads the generation state without changing it, and
+     * the stable sort keeps tied {@link Item}s in their previous order, so the result is the same either way.
+     * <p>
+     * The whole group is sorted even though the search usually takes only the first {@link Item}. Tied
+     * {@link Item}s keep the order left by the previous sort, which is itself ordered by the previous weights, so
+     * the next sort needs the complete order of this one. A heap keyed on weights and previous position hands out
+     * the same {@link Item}s only if the rest of the group is sorted before the next weighing, which costs as much
+     * as this sort. Leaving the rest in the previous order instead makes most suites larger.
+     *
+     * @param itemGroupIndex index of {@link Item} group, equal to the number of already chosen {@link Item}s
+     */
+    private void updateWeightsAndReSortItemMatrix(int itemGroupIndex) {
+        final List<Item> itemGroup = this.itemMatrix.get(itemGroupIndex);
+
+        if (this.candidateScoringExecutor == null || itemGroup.size() < 2 * ITEMS_PER_WEIGHING_TASK) {
+            itemGroup.forEach(this::updateWeights);
+        } else {
+            final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (int from = 0; from < itemGroup.size(); from += ITEMS_PER_WEIGHING_TASK) {
+                final List<Item> items = itemGroup.subList(
+                        from, Math.min(from + ITEMS_PER_WEIGHING_TASK, itemGroup.size())
+                );
+                tasks.add(CompletableFuture.runAsync(
+                        () -> items.forEach(this::updateWeights), this.candidateScoringExecutor
+                ));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        itemGroup.sort(null);
+    }
+
+    private void updateWeights(Item item) {
+        final Node node = this.combinationStorage.getNodeOrEmpty(item);
+
+        final int[] weights = item.getWeights();
+        int w = 0;
+        // Node that creates most new test combinations is the best
+        weights[w++] = -this.prefixCombinations.countNewCombinations(item, this.n, this.combinationStorage);
+        // Less used outbound connections are most likely to produce more test combinations
+        weights[w++] = node.getOutboundItemIdsSize();
+        for (int combinationSize = this.n - 1; combinationSize >= 1; combinationSize--) {
+            weights[w++] = this.prefixCombinations.countNewCombinations(item, combinationSize, this.combinationStorage);
+        }
+        weights[w++] = node.getCounter(); // Less used node is better
+        weights[w] = -node.getInboundItemIdsSize(); // Prefer node with most free inbound connections
+    }
+}
@@ -16,25 +16,60 @@
 
 package io.github.pavelicii.allpairs4j;
 
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
- * A {@link LinkedHashMap} representing single test case.
+ * A {@link Map} representing single test case.
  * <ul>
  *     <li>{@code key} is the {@link Parameter} name
  *     <li>{@code value} is one of the {@link Parameter} values selected by AllPairs algorithm
  * </ul>
+ * <p>
+ * {@link Case}s generated by {@link AllPairs} are read-only views over one value index per {@link Parameter},
+ * sharing the {@link Parameter}s of their {@link AllPairs} instance, so a large suite takes little more memory than
+ * its value indexes. {@link Case#getValueIndex(int)} reads these indexes without looking values up.
+ * Entries are ordered as the {@link Parameter}s.
+ * <p>
+ * {@link Case}s created with public constructors, for example to compare with generated ones or to verify
+ * a suite produced by another tool, are backed by a {@link LinkedHashMap} and can be modified.
+ * <p>
+ * Since 2.0.0 {@link Case} is no longer a {@link LinkedHashMap}: it can't be cast to {@link java.util.HashMap}
+ * or cloned, and {@link Map#put}, {@link Map#remove} and {@link Map#clear} of generated {@link Case}s throw
+ * {@link UnsupportedOperationException}. Copy it with {@link Case#Case(Map)} to modify it.
  */
-public class Case extends LinkedHashMap<String, Object> {
+public class Case extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** {@link Parameter}s of the generated {@link Case}, {@code null} if it is backed by a map. */
+    private final List<Parameter> parameters;
+    /** {@link Parameter} indexes mapped to {@link Parameter} names, {@code null} if backed by a map. */
+    private final Map<String, Integer> parameterIndexes;
+    /** Value index by {@link Parameter} index, {@code null} if backed by a map. */
+    private final int[] valueIndexes;
+    /** Entries of the {@link Case} created with public constructors, {@code null} for generated ones. */
+    private final Map<String, Object> map;
 
     public Case() {
-        super();
+        this.parameters = null;
+        this.parameterIndexes = null;
+        this.valueIndexes = null;
+        this.map = new LinkedHashMap<>();
     }
 
     public Case(Map<String, ?> map) {
-        super(map);
+        this.parameters = null;
+        this.parameterIndexes = null;
+        this.valueIndexes = null;
+        this.map = new LinkedHashMap<>(map);
     }
 
     /**
@@ -47,17 +82,120 @@ public class Case extends LinkedHashMap<String, Object> {
         if ((input.length & 1) != 0) {
             throw new IllegalArgumentException("Input length is odd. Unable to create map");
         }
+        this.parameters = null;
+        this.parameterIndexes = null;
+        this.valueIndexes = null;
+        this.map = new LinkedHashMap<>();
         for (int i = 0; i < input.length; i += 2) {
-            super.put((String) input[i], input[i + 1]);
+            this.map.put((String) input[i], input[i + 1]);
         }
     }
 
-    Case(List<Item> items) {
-        items.forEach(item -> {
-            if (super.containsKey(item.getName())) {
-                throw new IllegalStateException("Duplicate key: " + item.getName());
+    /**
+     * Creates generated {@link Case}.
+     *
+     * @param parameters all {@link Parameter}s
+     * @param parameterIndexes {@link Parameter} indexes mapped to {@link Parameter} names
+     * @param valueIndexes value index of each {@link Parameter}, owned by the {@link Case} from now on
+     */
+    Case(List<Parameter> parameters, Map<String, Integer> parameterIndexes, int[] valueIndexes) {
+        this.parameters = parameters;
+        this.parameterIndexes = parameterIndexes;
+        this.valueIndexes = valueIndexes;
+        this.map = null;
+    }
+
+    /**
+     * Returns index of the value of the {@link Parameter} in the {@link Parameter}'s values.
+     * <p>
+     * Only available for {@link Case}s generated by {@link AllPairs}.
+     *
+     * @param parameterIndex index of the {@link Parameter} in {@link AllPairs#getParameters()}
+     * @return value index
+     * @throws UnsupportedOperationException if the {@link Case} was not generated by {@link AllPairs}
+     */
+    public int getValueIndex(int parameterIndex) {
+        if (this.valueIndexes == null) {
+            throw new UnsupportedOperationException("Value indexes are only available for generated Cases");
+        }
+        return this.valueIndexes[parameterIndex];
+    }
+
+    /**
+     * Tells whether the {@link Case} is a view generated for the given {@link Parameter}s, so that
+     * {@link Case#getValueIndex(int)} can be used instead of looking values up.
+     */
+    boolean isGeneratedFor(List<Parameter> otherParameters) {
+        return this.parameters == otherParameters;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (this.map != null) {
+            return this.map.get(key);
+        }
+        final Integer parameterIndex = this.parameterIndexes.get(key);
+        return parameterIndex == null ? null : getValue(parameterIndex);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.map != null ? this.map.containsKey(key) : this.parameterIndexes.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.map != null ? this.map.size() : this.valueIndexes.length;
+    }
+
+    /**
+     * Associates the value with the key in a {@link Case} created with public constructors.
+     *
+     * @throws UnsupportedOperationException if the {@link Case} was generated by {@link AllPairs}
+     */
+    @Override
+    public Object put(String key, Object value) {
+        if (this.map == null) {
+            throw new UnsupportedOperationException("Generated Case is read-only");
+        }
+        return this.map.put(key, value);
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (this.map != null) {
+            return this.map.entrySet();
+        }
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<Map.Entry<String, Object>>() {
+                    private int parameterIndex;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.parameterIndex < Case.this.valueIndexes.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final int p = this.parameterIndex++;
+                        return new SimpleImmutableEntry<>(Case.this.parameters.get(p).getName(), getValue(p));
+                    }
+                };
             }
-            super.put(item.getName(), item.getValue());
-        });
+
+            @Override
+            public int size() {
+                return Case.this.valueIndexes.length;
+            }
+        };
+    }
+
+    private Object getValue(int parameterIndex) {
+        return this.parameters.get(parameterIndex).get(this.valueIndexes[parameterIndex]);
     }
 }
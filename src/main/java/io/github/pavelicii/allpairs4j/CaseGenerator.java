@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Stateful generation run producing test {@link Case}s one by one, implemented by each {@link GenerationStrategy}.
+ * <p>
+ * Each instance starts with no test combinations covered, so iterating two instances created for the same
+ * {@link AllPairs} yields the same {@link Case}s in the same order. Seed {@link Case}s of {@link AllPairs} come first,
+ * completed by implementations, even if they produce no new test combinations.
+ * <p>
+ * The work spent on each {@link Case} is measured and reported to {@link GenerationListener}s. When running on
+ * a JVM with JDK Flight Recorder, it is also published as {@code io.github.pavelicii.allpairs4j.CaseGenerated} events.
+ * <p>
+ * Generation stops early when the time limit or the maximum number of {@link Case}s of {@link AllPairs} is reached.
+ * The time limit is counted from the creation of the instance, and is checked by implementations between steps of
+ * their search using {@link CaseGenerator#isTimeLimitReached()}.
+ */
+abstract class CaseGenerator implements Iterator<Case> {
+
+    /**
+     * Version of the generated {@link Case}s, part of the {@link SuiteCache} fingerprint. Must be incremented by
+     * every change of any {@link GenerationStrategy} which changes the {@link Case}s generated for some input.
+     */
+    static final int OUTPUT_VERSION = 2;
+    /** Listener publishing JDK Flight Recorder events, {@code null} if JDK Flight Recorder API is not available. */
+    private static final SwitchableGenerationListener FLIGHT_RECORDER_LISTENER = loadFlightRecorderListener();
+    /** Number of {@link CaseGenerator#isTimeLimitReached()} calls between reads of the clock, minus one. */
+    private static final int CLOCK_CHECK_MASK = (1 << 4) - 1;
+
+    private final List<GenerationListener> generationListeners;
+    private final long expectedTestCombinationsCount;
+    /** {@link System#nanoTime()} after which no more {@link Case}s are searched for. */
+    private final long deadlineNanos;
+    private final boolean timeLimited;
+    private final int maxCaseCount;
+
+    private Case nextCase;
+    private boolean finished;
+    private int caseCount;
+    private CoverageReport.StopReason stopReason;
+    private boolean timeLimitReached;
+    private int timeLimitCheckCount;
+
+    /** Test combinations covered by the {@link Case}s found so far. */
+    private long coveredTestCombinationsCount;
+    /** Work spent on the last {@link Case}. */
+    private long newTestCombinationsCount;
+    private long backtrackCount;
+    private long constraintEvaluationCount;
+    private long elapsedNanos;
+
+    CaseGenerator(AllPairs allPairs) {
+        this.generationListeners = new ArrayList<>();
+        if (allPairs.isPrintEachCaseDuringGeneration()) {
+            this.generationListeners.add(e -> System.out.printf("%3d: %s%n", e.getCaseNumber(), e.getCase()));
+        }
+        this.generationListeners.addAll(allPairs.getGenerationListeners());
+        this.expectedTestCombinationsCount = allPairs.getExpectedUniqueTestCombinationsCount();
+        this.timeLimited = allPairs.getTimeLimit() != null;
+        this.deadlineNanos = this.timeLimited ? System.nanoTime() + allPairs.getTimeLimit().toNanos() : 0;
+        this.maxCaseCount = allPairs.getMaxCaseCount();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.nextCase == null && !this.finished && this.caseCount == this.maxCaseCount) {
+            // Seed Cases may still be left when all test combinations are covered
+            finish(this.coveredTestCombinationsCount < this.expectedTestCombinationsCount
+                    ? CoverageReport.StopReason.CASE_LIMIT_REACHED
+                    : CoverageReport.StopReason.ALL_CASES_GENERATED);
+        }
+        if (this.nextCase == null && !this.finished) {
+            final long startNanos = System.nanoTime();
+            final long startConstraintEvaluationCount = countConstraintEvaluations();
+            this.backtrackCount = 0;
+            this.nextCase = generateNextCase();
+            if (this.nextCase == null) {
+                finish(this.timeLimitReached && this.coveredTestCombinationsCount < this.expectedTestCombinationsCount
+                        ? CoverageReport.StopReason.TIME_LIMIT_REACHED
+                        : CoverageReport.StopReason.ALL_CASES_GENERATED);
+            } else {
+                this.elapsedNanos = System.nanoTime() - startNanos;
+                this.constraintEvaluationCount = countConstraintEvaluations() - startConstraintEvaluationCount;
+                final long coveredCount = countCoveredTestCombinations();
+                this.newTestCombinationsCount = coveredCount - this.coveredTestCombinationsCount;
+                this.coveredTestCombinationsCount = coveredCount;
+                this.caseCount++;
+                notifyListeners();
+            }
+        }
+        return this.nextCase != null;
+    }
+
+    @Override
+    public Case next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("All test combinations are already covered");
+        }
+        final Case result = this.nextCase;
+        this.nextCase = null;
+        return result;
+    }
+
+    /**
+     * Generates next test {@link Case}.
+     *
+     * @return {@link Case} or {@code null} if all {@link Case}s are already found or the time limit is reached
+     */
+    abstract Case generateNextCase();
+
+    /**
+     * Counts test combinations covered by the {@link Case}s generated so far, including the last one.
+     *
+     * @return number of covered test combinations
+     */
+    abstract long countCoveredTestCombinations();
+
+    /**
+     * Counts constraint evaluations since the start of generation.
+     *
+     * @return number of constraint evaluations
+     * @see ConstrainableCase#getConstraintEvaluationCount()
+     */
+    abstract long countConstraintEvaluations();
+
+    /**
+     * Counts one step back of the search from a {@link Parameter} which had no values left to try.
+     */
+    void countBacktrack() {
+        this.backtrackCount++;
+    }
+
+    /**
+     * Tells whether the time limit is reached, reading the clock only once in a while so that it can be called
+     * at every step of the search. Once reached, the time limit stays reached.
+     *
+     * @return {@code true} if the search should stop and return what it has found
+     */
+    boolean isTimeLimitReached() {
+        if (this.timeLimited && !this.timeLimitReached && (this.timeLimitCheckCount++ & CLOCK_CHECK_MASK) == 0) {
+            this.timeLimitReached = System.nanoTime() - this.deadlineNanos >= 0;
+        }
+        return this.timeLimitReached;
+    }
+
+    /**
+     * Returns coverage reached by the {@link Case}s generated so far.
+     *
+     * @param missingTestCombinationsSupplier finds test combinations not covered by the generated {@link Case}s
+     * @return {@link CoverageReport}, with {@code null} stop reason if generation is not finished yet
+     */
+    CoverageReport getCoverageReport(Supplier<List<Map<String, Object>>> missingTestCombinationsSupplier) {
+        return new CoverageReport(this.stopReason, this.caseCount, this.coveredTestCombinationsCount,
+                this.expectedTestCombinationsCount, missingTestCombinationsSupplier);
+    }
+
+    int getCaseCount() {
+        return this.caseCount;
+    }
+
+    long getNewTestCombinationsCount() {
+        return this.newTestCombinationsCount;
+    }
+
+    long getCoveredTestCombinationsCount() {
+        return this.coveredTestCombinationsCount;
+    }
+
+    long getExpectedTestCombinationsCount() {
+        return this.expectedTestCombinationsCount;
+    }
+
+    long getBacktrackCount() {
+        return this.backtrackCount;
+    }
+
+    long getConstraintEvaluationCount() {
+        return this.constraintEvaluationCount;
+    }
+
+    long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    private void finish(CoverageReport.StopReason reason) {
+        this.finished = true;
+        this.stopReason = reason;
+    }
+
+    /**
+     * Notifies {@link GenerationListener}s about the {@link Case} just found. No {@link GenerationEvent} is created
+     * if there are no listeners and no JDK Flight Recorder recording uses the events.
+     */
+    private void notifyListeners() {
+        final boolean recording = FLIGHT_RECORDER_LISTENER != null && FLIGHT_RECORDER_LISTENER.isEnabled();
+        if (this.generationListeners.isEmpty() && !recording) {
+            return;
+        }
+        final GenerationEvent event = new GenerationEvent(this, this.nextCase);
+        for (GenerationListener generationListener : this.generationListeners) {
+            generationListener.onCaseGenerated(event);
+        }
+        if (recording) {
+            FLIGHT_RECORDER_LISTENER.onCaseGenerated(event);
+        }
+    }
+
+    /**
+     * Loads the listener publishing JDK Flight Recorder events. It is compiled for Java 11 and packaged as
+     * a multi-release class, so it is only found on Java 11 or later.
+     *
+     * @return listener, or {@code null} if it can't be loaded
+     */
+    private static SwitchableGenerationListener loadFlightRecorderListener() {
+        try {
+            return (SwitchableGenerationListener) Class
+                    .forName("io.github.pavelicii.allpairs4j.FlightRecorderGenerationListener")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@link GenerationListener} which may be switched off from outside, so that no {@link GenerationEvent} has to be
+     * created for it.
+     */
+    interface SwitchableGenerationListener extends GenerationListener {
+
+        /**
+         * Tells whether the listener currently uses the events it receives.
+         *
+         * @return {@code true} if the listener should be notified
+         */
+        boolean isEnabled();
+    }
+}
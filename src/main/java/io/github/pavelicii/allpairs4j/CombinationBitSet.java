@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+/**
+ * Fixed-size set of test combinations stored as bits at their {@link CombinationIndex} indexes.
+ * <p>
+ * Unlike {@link java.util.BitSet}, it is addressed by {@code long} indexes and keeps its cardinality up to date,
+ * so both membership and size queries are constant time.
+ */
+final class CombinationBitSet {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final long[] words;
+    private final long size;
+    private long cardinality;
+
+    CombinationBitSet(long size) {
+        this.size = size;
+        this.words = new long[Math.toIntExact((size + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD)];
+    }
+
+    /**
+     * Returns the number of indexes this set can hold.
+     *
+     * @return capacity of this set
+     */
+    long size() {
+        return this.size;
+    }
+
+    long cardinality() {
+        return this.cardinality;
+    }
+
+    /**
+     * Counts indexes present in both this set and the other one.
+     *
+     * @param other set of the same size
+     * @return cardinality of the intersection
+     */
+    long intersectionCardinality(CombinationBitSet other) {
+        long count = 0;
+        for (int wordIndex = 0; wordIndex < this.words.length; wordIndex++) {
+            count += Long.bitCount(this.words[wordIndex] & other.words[wordIndex]);
+        }
+        return count;
+    }
+
+    boolean get(long index) {
+        return (this.words[(int) (index >>> ADDRESS_BITS_PER_WORD)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Adds all indexes set in the given words to this set.
+     *
+     * @param firstWordIndex index of the word of this set corresponding to the first given word
+     * @param otherWords words to merge, bit {@code i} of word {@code j} stands for index
+     *                   {@code (firstWordIndex + j) * 64 + i}
+     */
+    void or(long firstWordIndex, long[] otherWords) {
+        for (int j = 0; j < otherWords.length; j++) {
+            final int wordIndex = Math.toIntExact(firstWordIndex + j);
+            final long newBits = otherWords[j] & ~this.words[wordIndex];
+            this.words[wordIndex] |= newBits;
+            this.cardinality += Long.bitCount(newBits);
+        }
+    }
+
+    /**
+     * Adds the index to this set.
+     *
+     * @param index index to add
+     * @return {@code true} if the index was not present in this set
+     */
+    boolean set(long index) {
+        final int wordIndex = (int) (index >>> ADDRESS_BITS_PER_WORD);
+        final long mask = 1L << index;
+        if ((this.words[wordIndex] & mask) != 0) {
+            return false;
+        }
+        this.words[wordIndex] |= mask;
+        this.cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes the index from this set.
+     *
+     * @param index index to remove
+     * @return {@code true} if the index was present in this set
+     */
+    boolean clear(long index) {
+        final int wordIndex = (int) (index >>> ADDRESS_BITS_PER_WORD);
+        final long mask = 1L << index;
+        if ((this.words[wordIndex] & mask) == 0) {
+            return false;
+        }
+        this.words[wordIndex] &= ~mask;
+        this.cardinality--;
+        return true;
+    }
+}
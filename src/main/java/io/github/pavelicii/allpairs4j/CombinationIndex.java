@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.List;
+
+/**
+ * Maps test combinations of {@link Item}s to dense {@code long} indexes, separately for each combination size.
+ * <p>
+ * Index of a combination is the offset of its {@link Parameter} subset plus the mixed-radix number formed by
+ * its {@link Item}s' value indexes. Subsets are ranked in colexicographical order, so the rank of a subset
+ * extended with a {@link Parameter} greater than all of its {@link Parameter}s only depends on the rank of the subset
+ * and the index of the added {@link Parameter}.
+ */
+final class CombinationIndex {
+
+    private final int[] parameterSizes;
+    /** Binomial coefficients: {@code binomials[i][k]} is the number of {@code k}-subsets of {@code i} elements. */
+    private final long[][] binomials;
+    /** Offsets of {@link Parameter} subsets of size {@code k + 1} ordered by their colexicographical rank. */
+    private final long[][] offsets;
+    /** Number of indexes for each combination size {@code k + 1}. */
+    private final long[] sizes;
+
+    CombinationIndex(List<Parameter> parameters, int n) {
+        this.parameterSizes = parameters.stream().mapToInt(Parameter::size).toArray();
+        this.binomials = calculateBinomials(this.parameterSizes.length, n);
+        this.offsets = new long[n][];
+        this.sizes = new long[n];
+
+        for (int k = 1; k <= n; k++) {
+            final long[] subsetOffsets = new long[Math.toIntExact(this.binomials[this.parameterSizes.length][k])];
+            final int[] subset = new int[k];
+            for (int i = 0; i < k; i++) {
+                subset[i] = i;
+            }
+            // Collect sizes of all subsets by rank, then turn them into cumulative offsets
+            do {
+                long blockSize = 1;
+                for (int parameterIndex : subset) {
+                    blockSize = Math.multiplyExact(blockSize, this.parameterSizes[parameterIndex]);
+                }
+                subsetOffsets[Math.toIntExact(rank(subset))] = blockSize;
+            } while (nextSubset(subset, this.parameterSizes.length));
+
+            long offset = 0;
+            for (int rank = 0; rank < subsetOffsets.length; rank++) {
+                final long blockSize = subsetOffsets[rank];
+                subsetOffsets[rank] = offset;
+                offset = Math.addExact(offset, blockSize);
+            }
+            this.offsets[k - 1] = subsetOffsets;
+            this.sizes[k - 1] = offset;
+        }
+    }
+
+    /**
+     * Returns the number of indexes reserved for combinations of the given size.
+     *
+     * @param k combination size
+     * @return number of indexes
+     */
+    long size(int k) {
+        return this.sizes[k - 1];
+    }
+
+    /**
+     * Returns the number of {@code k}-subsets of {@code total} elements.
+     *
+     * @param total number of elements
+     * @param k subset size, must not exceed the test combination size
+     * @return binomial coefficient
+     */
+    long binomial(int total, int k) {
+        return this.binomials[total][k];
+    }
+
+    int getParameterCount() {
+        return this.parameterSizes.length;
+    }
+
+    int getParameterSize(int parameterIndex) {
+        return this.parameterSizes[parameterIndex];
+    }
+
+    /**
+     * Returns index of the combination with the given {@link Parameter} subset and value index.
+     *
+     * @param combinationSize combination size
+     * @param subsetRank colexicographical rank of {@link Parameter} subset
+     * @param valueIndex mixed-radix number formed by value indexes
+     * @return index unique among combinations of the same size
+     */
+    long index(int combinationSize, long subsetRank, long valueIndex) {
+        return this.offsets[combinationSize - 1][(int) subsetRank] + valueIndex;
+    }
+
+    /**
+     * Returns the first index of combinations of the given size and {@link Parameter} subset.
+     *
+     * @param combinationSize combination size
+     * @param subsetRank colexicographical rank of {@link Parameter} subset, may be equal to the number of subsets
+     * @return offset of the subset, or {@link CombinationIndex#size(int)} for the rank past the last subset
+     */
+    long offset(int combinationSize, long subsetRank) {
+        final long[] subsetOffsets = this.offsets[combinationSize - 1];
+        return subsetRank < subsetOffsets.length ? subsetOffsets[(int) subsetRank] : this.sizes[combinationSize - 1];
+    }
+
+    /**
+     * Returns the number of {@link Parameter} subsets of the given size.
+     *
+     * @param combinationSize subset size
+     * @return number of subsets
+     */
+    long subsetCount(int combinationSize) {
+        return this.offsets[combinationSize - 1].length;
+    }
+
+    /**
+     * Fills the {@link Parameter} subset with the given colexicographical rank.
+     *
+     * @param subsetRank colexicographical rank of {@link Parameter} subset
+     * @param subset array to fill with ascending {@link Parameter} indexes, its length is the subset size
+     */
+    void unrank(long subsetRank, int[] subset) {
+        long remainder = subsetRank;
+        int parameterIndex = this.parameterSizes.length - 1;
+        for (int j = subset.length; j >= 1; j--) {
+            while (this.binomials[parameterIndex][j] > remainder) {
+                parameterIndex--;
+            }
+            subset[j - 1] = parameterIndex;
+            remainder -= this.binomials[parameterIndex][j];
+            parameterIndex--;
+        }
+    }
+
+    /**
+     * Advances the {@link Parameter} subset to the next one in colexicographical order.
+     *
+     * @param subset ascending {@link Parameter} indexes, updated in place
+     * @return {@code false} if the subset was the last one
+     */
+    boolean nextColex(int[] subset) {
+        for (int j = 0; j < subset.length; j++) {
+            final int limit = j + 1 < subset.length ? subset[j + 1] : this.parameterSizes.length;
+            if (subset[j] + 1 < limit) {
+                subset[j]++;
+                for (int i = 0; i < j; i++) {
+                    subset[i] = i;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns index of the given combination.
+     *
+     * @param combination {@link Item}s of distinct {@link Parameter}s ordered by {@link Parameter} index
+     * @return index unique among combinations of the same size
+     */
+    long index(List<Item> combination) {
+        long subsetRank = 0;
+        long valueIndex = 0;
+        for (int j = 0; j < combination.size(); j++) {
+            final Item item = combination.get(j);
+            subsetRank += this.binomials[item.getParameterIndex()][j + 1];
+            valueIndex = valueIndex * this.parameterSizes[item.getParameterIndex()] + item.getValueIndex();
+        }
+        return this.offsets[combination.size() - 1][(int) subsetRank] + valueIndex;
+    }
+
+    /**
+     * Returns index of the combination formed by the given {@link Parameter}s of a test.
+     *
+     * @param subset ascending {@link Parameter} indexes
+     * @param valueIndexes value indexes of the test by {@link Parameter} index
+     * @return index unique among combinations of the same size
+     */
+    long index(int[] subset, int[] valueIndexes) {
+        long valueIndex = 0;
+        for (int parameterIndex : subset) {
+            valueIndex = valueIndex * this.parameterSizes[parameterIndex] + valueIndexes[parameterIndex];
+        }
+        return this.offsets[subset.length - 1][(int) rank(subset)] + valueIndex;
+    }
+
+    private long rank(int[] subset) {
+        long subsetRank = 0;
+        for (int j = 0; j < subset.length; j++) {
+            subsetRank += this.binomials[subset[j]][j + 1];
+        }
+        return subsetRank;
+    }
+
+    /**
+     * Advances the subset of {@code total} elements to the next one in lexicographical order.
+     *
+     * @param subset ascending element indexes, updated in place
+     * @param total number of elements
+     * @return {@code false} if the subset was the last one
+     */
+    static boolean nextSubset(int[] subset, int total) {
+        int i = subset.length - 1;
+        while (i >= 0 && subset[i] == total - subset.length + i) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        subset[i]++;
+        for (int j = i + 1; j < subset.length; j++) {
+            subset[j] = subset[j - 1] + 1;
+        }
+        return true;
+    }
+
+    private static long[][] calculateBinomials(int total, int maxK) {
+        final long[][] result = new long[total + 1][maxK + 1];
+        for (int i = 0; i <= total; i++) {
+            result[i][0] = 1;
+            for (int k = 1; k <= Math.min(i, maxK); k++) {
+                result[i][k] = Math.addExact(result[i - 1][k - 1], k <= i - 1 ? result[i - 1][k] : 0);
+            }
+        }
+        return result;
+    }
+}
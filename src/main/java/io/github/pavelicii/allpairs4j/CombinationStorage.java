@@ -16,71 +16,123 @@
 
 package io.github.pavelicii.allpairs4j;
 
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 class CombinationStorage {
 
+    /** {@link Node} of {@link Item}s not added yet, never changed. */
+    private static final Node EMPTY_NODE = new Node(-1, 0);
+
     private final int n;
-    private final Map<String, Node> nodes;
-    private final List<Set<List<String>>> itemIdCombinations;
+    private final CombinationIndex combinationIndex;
+    /** {@link Node}s by {@link Item} id, {@code null} for {@link Item}s not added yet. */
+    private final Node[] nodes;
+    /** Covered test combinations of size {@code k + 1}. */
+    private final CombinationBitSet[] coveredCombinations;
+    /**
+     * {@link Parameter} subsets of size {@code k + 1} from {@link Itertools#combinationTable(int, int)},
+     * {@code null} for sizes with too many subsets, which are enumerated in place instead.
+     */
+    private final int[][] subsetTables;
+    /** Current {@link Parameter} subset of each size, reused when adding a sequence. */
+    private final int[][] subsets;
+    /** Value indexes and {@link Item} ids of the sequence being added, by {@link Parameter} index. */
+    private final int[] valueIndexes;
+    private final int[] itemIds;
 
-    CombinationStorage(int n) {
+    CombinationStorage(CombinationIndex combinationIndex, int n) {
         this.n = n;
-        this.nodes = new LinkedHashMap<>();
-        this.itemIdCombinations = Stream.generate(() -> new HashSet<List<String>>())
-                .limit(n)
-                .collect(Collectors.toList());
+        this.combinationIndex = combinationIndex;
+        int itemCount = 0;
+        for (int p = 0; p < combinationIndex.getParameterCount(); p++) {
+            itemCount += combinationIndex.getParameterSize(p);
+        }
+        this.nodes = new Node[itemCount];
+        this.coveredCombinations = new CombinationBitSet[n];
+        this.subsetTables = new int[n][];
+        this.subsets = new int[n][];
+        for (int k = 1; k <= n; k++) {
+            this.coveredCombinations[k - 1] = new CombinationBitSet(combinationIndex.size(k));
+            this.subsetTables[k - 1] = Itertools.combinationTable(combinationIndex.getParameterCount(), k);
+            this.subsets[k - 1] = new int[k];
+        }
+        this.valueIndexes = new int[combinationIndex.getParameterCount()];
+        this.itemIds = new int[combinationIndex.getParameterCount()];
     }
 
-    List<Set<List<String>>> getItemIdCombinations() {
-        return this.itemIdCombinations;
+    /**
+     * Tells whether test combination is already covered.
+     *
+     * @param combinationSize size of test combination
+     * @param index {@link CombinationIndex} index of test combination
+     * @return {@code true} if test combination is covered
+     */
+    boolean isCovered(int combinationSize, long index) {
+        return this.coveredCombinations[combinationSize - 1].get(index);
     }
 
-    int getLength() {
-        return this.itemIdCombinations.get(this.itemIdCombinations.size() - 1).size();
+    long getLength() {
+        return this.coveredCombinations[this.n - 1].cardinality();
     }
 
-    Node getNodeOrCreateNew(Item item) {
-        return this.nodes.getOrDefault(item.getItemId(), new Node(item.getItemId()));
+    /**
+     * Returns {@link Node} of the {@link Item}, which must not be changed.
+     *
+     * @param item {@link Item}
+     * @return {@link Node} of the {@link Item}, or an empty {@link Node} if the {@link Item} was not added yet
+     */
+    Node getNodeOrEmpty(Item item) {
+        final Node node = this.nodes[item.getItemId()];
+        return node == null ? EMPTY_NODE : node;
     }
 
-    void addSequenceCombinations(List<Item> sequence) {
-        for (int i = 1; i < this.n + 1; i++) {
-            Itertools.combinations(sequence, i).forEach(this::addCombination);
+    /**
+     * Adds all test combinations of up to {@code n} {@link Item}s of the sequence, in the order of
+     * {@link Itertools#combinations(List, int)}.
+     *
+     * @param sequence {@link Item}s of all {@link Parameter}s, by {@link Parameter} index
+     */
+    void addSequenceCombinations(Item[] sequence) {
+        for (int p = 0; p < sequence.length; p++) {
+            this.valueIndexes[p] = sequence[p].getValueIndex();
+            this.itemIds[p] = sequence[p].getItemId();
         }
-    }
-
-    private void addCombination(List<Item> combination) {
-        final int combinationSize = combination.size();
-
-        if (combinationSize == 0) {
-            throw new RuntimeException("Combination is empty");
+        for (int k = 1; k <= this.n; k++) {
+            final int[] subsetTable = this.subsetTables[k - 1];
+            final int[] subset = this.subsets[k - 1];
+            if (subsetTable != null) {
+                for (int offset = 0; offset < subsetTable.length; offset += k) {
+                    System.arraycopy(subsetTable, offset, subset, 0, k);
+                    addCombination(subset);
+                }
+            } else {
+                for (int i = 0; i < k; i++) {
+                    subset[i] = i;
+                }
+                do {
+                    addCombination(subset);
+                } while (CombinationIndex.nextSubset(subset, sequence.length));
+            }
         }
+    }
 
-        this.itemIdCombinations
-                .get(combinationSize - 1)
-                .add(combination.stream().map(Item::getItemId).collect(Collectors.toList()));
+    private void addCombination(int[] subset) {
+        this.coveredCombinations[subset.length - 1].set(this.combinationIndex.index(subset, this.valueIndexes));
 
-        if (combinationSize == 1 && !this.nodes.containsKey(combination.get(0).getItemId())) {
-            this.nodes.put(combination.get(0).getItemId(), new Node(combination.get(0).getItemId()));
+        if (subset.length == 1 && this.nodes[this.itemIds[subset[0]]] == null) {
+            this.nodes[this.itemIds[subset[0]]] = new Node(this.itemIds[subset[0]], this.nodes.length);
             return;
         }
 
-        final List<String> itemIds = combination.stream()
-                .map(Item::getItemId)
-                .collect(Collectors.toList());
-
-        for (int i = 0; i < itemIds.size(); i++) {
-            final Node currentNode = this.nodes.get(itemIds.get(i));
+        for (int i = 0; i < subset.length; i++) {
+            final Node currentNode = this.nodes[this.itemIds[subset[i]]];
             currentNode.increaseCounter();
-            currentNode.addInboundItemIds(itemIds.subList(0, i));
-            currentNode.addOutboundItemIds(itemIds.subList(i + 1, itemIds.size()));
+            for (int j = 0; j < i; j++) {
+                currentNode.addInboundItemId(this.itemIds[subset[j]]);
+            }
+            for (int j = i + 1; j < subset.length; j++) {
+                currentNode.addOutboundItemId(this.itemIds[subset[j]]);
+            }
         }
     }
 }
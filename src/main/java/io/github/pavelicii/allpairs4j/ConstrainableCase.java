@@ -16,20 +16,34 @@
 
 package io.github.pavelicii.allpairs4j;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.Map;
 
-/** Class for constraint definition. Imitates limited interface to {@link Case}. */
+/**
+ * Class for constraint definition. Imitates limited interface to {@link Case}.
+ * <p>
+ * {@link Item}s are stored by {@link Parameter} index, so values are looked up without scanning the {@link Case}.
+ * An instance is reused by binding and unbinding {@link Item}s while a {@link Case} is being built.
+ */
 public class ConstrainableCase {
 
     // Defined as a constant to cause as little performance penalty as possible
-    private static final NoSuchParameterNameException NO_SUCH_PARAMETER_NAME_EXCEPTION =
+    static final NoSuchParameterNameException NO_SUCH_PARAMETER_NAME_EXCEPTION =
             new NoSuchParameterNameException();
 
-    /** {@link Item}s {@link List} representing possible {@link Case} to test constraint against. Can be incomplete. */
-    private final List<Item> items;
+    /** {@link Parameter} indexes mapped to {@link Parameter} names. */
+    private final Map<String, Integer> parameterIndexes;
+    /**
+     * {@link Item}s by {@link Parameter} index representing possible {@link Case} to test constraint against,
+     * {@code null} for {@link Parameter}s not bound yet.
+     */
+    private final Item[] items;
+    /** Number of times constraints were tested against this instance. */
+    private long constraintEvaluationCount;
 
-    ConstrainableCase(List<Item> items) {
-        this.items = items;
+    ConstrainableCase(Map<String, Integer> parameterIndexes) {
+        this.parameterIndexes = parameterIndexes;
+        this.items = new Item[parameterIndexes.size()];
     }
 
     /**
@@ -39,20 +53,89 @@ public class ConstrainableCase {
      * <p>--<p>
      * Implementation details:
      * If {@link Case} contains no mapping to the {@link Parameter} name, throws {@code NoSuchParameterNameException}.
-     * When used to define constraint, the Exception is handled internally in {@code AllPairs#isValidCase(List)}.
-     * This could happen when {@link Case} is incomplete or when a user specified non-existent {@code Parameter} name.
-     * The Exception is used as control flow to allow constraints to be defined as {@code Predicate}.
+     * When used to define constraint, the Exception is handled internally in
+     * {@code ConstraintScopes#meetsConstraint(Predicate, ConstrainableCase)}. This could happen when {@link Case} is
+     * incomplete or when a user specified non-existent {@code Parameter} name. The Exception is used as control flow
+     * to allow constraints to be defined as {@code Predicate}. {@link ConstrainableCase#isBound(String)} can be used
+     * to avoid it. Constraints are only called this way while their {@link Parameter}s are explored, or if they can't
+     * be explored. Otherwise they are tested by {@link Parameter} index without being called.
      *
      * @param parameterName {@link Parameter} name mapped to the value to return
      * @return value mapped to the {@link Parameter name}
      * @see AllPairs.AllPairsBuilder#withConstraint(java.util.function.Predicate)
      */
     public Object get(String parameterName) {
-        return this.items.stream()
-                .filter(item -> item.getName().equals(parameterName))
-                .findAny()
-                .orElseThrow(() -> NO_SUCH_PARAMETER_NAME_EXCEPTION)
-                .getValue();
+        final Item item = findItem(parameterName);
+        if (item == null) {
+            throw NO_SUCH_PARAMETER_NAME_EXCEPTION;
+        }
+        return item.getValue();
+    }
+
+    /**
+     * Checks whether {@link Case} contains a value mapped to {@link Parameter} name.
+     * <p>
+     * While {@link Case}s are generated, constraints are tested against incomplete {@link Case}s as well. Checking
+     * {@link Parameter}s with this method before calling {@link ConstrainableCase#get(String)} lets a constraint
+     * decide without relying on {@link ConstrainableCase#get(String)} interrupting it.
+     * <p>
+     * <strong>Example:</strong>
+     * <pre>{@code
+     *     c -> c.isBound("OS") && c.isBound("Drive") && c.get("OS").equals("Linux") && c.get("Drive").equals("HDD")
+     * }</pre>
+     *
+     * @param parameterName {@link Parameter} name
+     * @return {@code true} if {@link Case} contains a value mapped to the {@link Parameter} name
+     */
+    public boolean isBound(String parameterName) {
+        return findItem(parameterName) != null;
+    }
+
+    /**
+     * Binds the {@link Item} to its {@link Parameter}, replacing the previously bound one.
+     *
+     * @param item {@link Item} to bind
+     */
+    void bind(Item item) {
+        this.items[item.getParameterIndex()] = item;
+    }
+
+    void unbind(int parameterIndex) {
+        this.items[parameterIndex] = null;
+    }
+
+    void unbindAll() {
+        Arrays.fill(this.items, null);
+    }
+
+    void countConstraintEvaluation() {
+        this.constraintEvaluationCount++;
+    }
+
+    long getConstraintEvaluationCount() {
+        return this.constraintEvaluationCount;
+    }
+
+    /**
+     * Returns {@link Item} bound to the {@link Parameter}.
+     *
+     * @param parameterIndex {@link Parameter} index
+     * @return bound {@link Item} or {@code null} if there is none
+     */
+    Item getItem(int parameterIndex) {
+        return this.items[parameterIndex];
+    }
+
+    /**
+     * Finds {@link Item} bound to the {@link Parameter}. Both {@link ConstrainableCase#get(String)} and
+     * {@link ConstrainableCase#isBound(String)} read {@link Item}s only through this method.
+     *
+     * @param parameterName {@link Parameter} name
+     * @return bound {@link Item} or {@code null} if there is none
+     */
+    Item findItem(String parameterName) {
+        final Integer parameterIndex = this.parameterIndexes.get(parameterName);
+        return parameterIndex == null ? null : this.items[parameterIndex];
     }
 
     /**
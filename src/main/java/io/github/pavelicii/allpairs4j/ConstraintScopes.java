@@ -0,0 +1,329 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Parameter}s each constraint may read, discovered by probing the constraint.
+ * <p>
+ * A constraint is evaluated against a {@link ConstrainableCase} which stops it at the first {@link Parameter} not
+ * decided yet. The {@link Parameter} is added to the scope, and the constraint is evaluated again for each of its
+ * values and for it being unbound, until all paths through the constraint are explored. Constraints are assumed to
+ * be deterministic. A constraint always gives the same verdict for two {@link Case}s which are the same within its
+ * scope, so it only has to be tested again when one of the {@link Parameter}s of its scope changes.
+ * <p>
+ * Constraints which take too many evaluations to explore, fail during exploration or reject the empty {@link Case}
+ * are given all {@link Parameter}s as their scope. Constraints reading no {@link Parameter}s get an empty scope.
+ * <p>
+ * The explored paths are kept as a decision diagram of each constraint: a node per {@link Parameter} read, with
+ * a branch per value and one for the {@link Parameter} being unbound, and leaves telling whether the constraint is met.
+ * {@link ConstraintScopes#isMet(int, ConstrainableCase)} walks it reading bound {@link Item}s by {@link Parameter}
+ * index, so explored constraints are tested without calling them, hashing {@link Parameter} names or stopping them
+ * with an exception at unbound {@link Parameter}s.
+ */
+final class ConstraintScopes {
+
+    /** Maximum number of evaluations spent on exploring one constraint. */
+    private static final int MAX_PROBES_PER_CONSTRAINT = 1 << 12;
+    /** Maximum number of cells of a decision diagram, beyond which the constraint itself is tested. */
+    private static final int MAX_DIAGRAM_LENGTH = 1 << 16;
+    /** Reference to the leaf of paths meeting the constraint. */
+    private static final int MET = -1;
+    /** Reference to the leaf of paths not meeting the constraint. */
+    private static final int NOT_MET = -2;
+
+    /** {@code scopes[c][p]} tells whether constraint {@code c} may read {@link Parameter} {@code p}. */
+    private final boolean[][] scopes;
+    /** Whether the scope of each constraint was fully explored rather than assumed to be all {@link Parameter}s. */
+    private final boolean[] explored;
+    /** Indexes of constraints which may read each {@link Parameter}, in ascending order. */
+    private final int[][] constraintsByParameter;
+    /**
+     * Decision diagram of each constraint, {@code null} if the constraint was not explored or the diagram is too
+     * large. Cell {@code 0} refers to the root. A node at offset {@code o} holds the {@link Parameter} index at
+     * {@code o}, its number of values {@code k} at {@code o + 1}, and references for value indexes from {@code 0}
+     * to {@code k - 1} followed by the one for the {@link Parameter} being unbound from {@code o + 2}. A reference is
+     * a node offset, {@link ConstraintScopes#MET} or {@link ConstraintScopes#NOT_MET}.
+     */
+    private final int[][] diagrams;
+
+    ConstraintScopes(List<Predicate<ConstrainableCase>> constraints, List<List<Item>> itemMatrix,
+                     Map<String, Integer> parameterIndexes) {
+        this.scopes = new boolean[constraints.size()][];
+        this.explored = new boolean[constraints.size()];
+        this.diagrams = new int[constraints.size()][];
+        for (int c = 0; c < constraints.size(); c++) {
+            final boolean[] scope = new boolean[itemMatrix.size()];
+            final DiagramBuilder diagramBuilder = new DiagramBuilder();
+            this.explored[c] = exploreScope(constraints.get(c), itemMatrix, parameterIndexes, scope, diagramBuilder);
+            if (!this.explored[c]) {
+                Arrays.fill(scope, true);
+            }
+            this.scopes[c] = scope;
+            this.diagrams[c] = this.explored[c] ? diagramBuilder.build() : null;
+        }
+        this.constraintsByParameter = new int[itemMatrix.size()][];
+        for (int p = 0; p < itemMatrix.size(); p++) {
+            final int parameterIndex = p;
+            this.constraintsByParameter[p] = IntStream.range(0, constraints.size())
+                    .filter(c -> this.scopes[c][parameterIndex])
+                    .toArray();
+        }
+    }
+
+    /**
+     * Returns constraints which may read the {@link Parameter}.
+     *
+     * @param parameterIndex {@link Parameter} index
+     * @return ascending constraint indexes
+     */
+    int[] getConstraintsReading(int parameterIndex) {
+        return this.constraintsByParameter[parameterIndex];
+    }
+
+    boolean mayRead(int constraintIndex, int parameterIndex) {
+        return this.scopes[constraintIndex][parameterIndex];
+    }
+
+    int getConstraintCount() {
+        return this.scopes.length;
+    }
+
+    /**
+     * Returns {@link Parameter}s the constraint may read.
+     *
+     * @param constraintIndex constraint index
+     * @return ascending {@link Parameter} indexes
+     */
+    int[] getScope(int constraintIndex) {
+        final boolean[] scope = this.scopes[constraintIndex];
+        return IntStream.range(0, scope.length).filter(p -> scope[p]).toArray();
+    }
+
+    /**
+     * Returns {@link Parameter}s the constraint may read, if they are known exactly.
+     *
+     * @param constraintIndex constraint index
+     * @return ascending {@link Parameter} indexes, or {@code null} if the scope was not explored
+     */
+    int[] getExploredScope(int constraintIndex) {
+        return this.explored[constraintIndex] ? getScope(constraintIndex) : null;
+    }
+
+    /**
+     * Tells whether the constraint has a decision diagram, so it can be tested with
+     * {@link ConstraintScopes#isMet(int, ConstrainableCase)}.
+     *
+     * @param constraintIndex constraint index
+     * @return {@code true} if the constraint was explored and its decision diagram is not too large
+     */
+    boolean hasDiagram(int constraintIndex) {
+        return this.diagrams[constraintIndex] != null;
+    }
+
+    /**
+     * Tests the constraint by walking its decision diagram. Gives the same result as
+     * {@link ConstraintScopes#meetsConstraint(Predicate, ConstrainableCase)}, including for incomplete {@link Case}s.
+     *
+     * @param constraintIndex index of constraint having a decision diagram
+     * @param constrainableCase {@link ConstrainableCase} with bound {@link Item}s
+     * @return {@code true} if the {@link ConstrainableCase} met the constraint
+     */
+    boolean isMet(int constraintIndex, ConstrainableCase constrainableCase) {
+        final int[] diagram = this.diagrams[constraintIndex];
+        int reference = diagram[0];
+        while (reference >= 0) {
+            final Item item = constrainableCase.getItem(diagram[reference]);
+            reference = diagram[reference + 2 + (item == null ? diagram[reference + 1] : item.getValueIndex())];
+        }
+        return reference == MET;
+    }
+
+    /**
+     * Tests the constraint, treating {@link ConstrainableCase#get(String)} of an unbound {@link Parameter}
+     * as not met.
+     *
+     * @return {@code true} if the {@link ConstrainableCase} met the constraint
+     */
+    static boolean meetsConstraint(Predicate<ConstrainableCase> constraint, ConstrainableCase constrainableCase) {
+        try {
+            return constraint.test(constrainableCase);
+        } catch (ConstrainableCase.NoSuchParameterNameException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Explores all paths through the constraint.
+     *
+     * @param scope array to mark {@link Parameter}s read by the constraint in
+     * @param diagramBuilder builder to record the explored paths in
+     * @return {@code false} if the constraint could not be explored
+     */
+    private static boolean exploreScope(Predicate<ConstrainableCase> constraint, List<List<Item>> itemMatrix,
+                                        Map<String, Integer> parameterIndexes, boolean[] scope,
+                                        DiagramBuilder diagramBuilder) {
+        try {
+            if (!meetsConstraint(constraint, new ConstrainableCase(parameterIndexes))) {
+                final ProbingCase probingCase = new ProbingCase(parameterIndexes, itemMatrix);
+                final Deque<Integer> decidedParameters = new ArrayDeque<>();
+                final Deque<Integer> nodeOffsets = new ArrayDeque<>();
+                for (int probe = 0; probe < MAX_PROBES_PER_CONSTRAINT; probe++) {
+                    probingCase.pendingParameterIndex = ProbingCase.NONE;
+                    final boolean met = meetsConstraint(constraint, probingCase);
+                    final int pendingParameterIndex = probingCase.pendingParameterIndex;
+                    if (pendingParameterIndex != ProbingCase.NONE) {
+                        scope[pendingParameterIndex] = true;
+                        probingCase.choices[pendingParameterIndex] = 0;
+                        decidedParameters.push(pendingParameterIndex);
+                        nodeOffsets.push(diagramBuilder.addNode(
+                                pendingParameterIndex, itemMatrix.get(pendingParameterIndex).size()
+                        ));
+                        continue;
+                    }
+                    diagramBuilder.addLeaf(met);
+                    // Path is fully explored, switch to the next choice of the latest decided Parameter
+                    while (!decidedParameters.isEmpty() && !probingCase.nextChoice(decidedParameters.peek())) {
+                        decidedParameters.pop();
+                        nodeOffsets.pop();
+                    }
+                    if (decidedParameters.isEmpty()) {
+                        return true;
+                    }
+                    diagramBuilder.moveTo(nodeOffsets.peek(), probingCase.choices[decidedParameters.peek()]);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Constraint failed on a value combination, it has to be tested as if it may read anything
+        }
+        return false;
+    }
+
+    /**
+     * {@link ConstrainableCase} where each {@link Parameter} is either not decided yet, bound to one of its values
+     * or decided to be unbound. Reading a {@link Parameter} not decided yet stops the constraint.
+     */
+    private static final class ProbingCase extends ConstrainableCase {
+
+        private static final int NONE = -1;
+
+        private final Map<String, Integer> parameterIndexes;
+        private final List<List<Item>> itemMatrix;
+        /**
+         * Value index chosen for each {@link Parameter}, {@link ProbingCase#NONE} if not decided yet
+         * and the number of values if decided to be unbound.
+         */
+        private final int[] choices;
+        /** {@link Parameter} which stopped the last evaluation, or {@link ProbingCase#NONE}. */
+        private int pendingParameterIndex;
+
+        private ProbingCase(Map<String, Integer> parameterIndexes, List<List<Item>> itemMatrix) {
+            super(parameterIndexes);
+            this.parameterIndexes = parameterIndexes;
+            this.itemMatrix = itemMatrix;
+            this.choices = new int[itemMatrix.size()];
+            Arrays.fill(this.choices, NONE);
+        }
+
+        @Override
+        Item findItem(String parameterName) {
+            final Integer parameterIndex = this.parameterIndexes.get(parameterName);
+            if (parameterIndex == null) {
+                return null;
+            }
+            final int choice = this.choices[parameterIndex];
+            if (choice == NONE) {
+                this.pendingParameterIndex = parameterIndex;
+                throw NO_SUCH_PARAMETER_NAME_EXCEPTION;
+            }
+            final List<Item> items = this.itemMatrix.get(parameterIndex);
+            return choice < items.size() ? items.get(choice) : null;
+        }
+
+        /**
+         * Switches the {@link Parameter} to its next value, or to being unbound after the last value.
+         *
+         * @return {@code false} if all choices were explored, the {@link Parameter} is then not decided again
+         */
+        private boolean nextChoice(int parameterIndex) {
+            this.choices[parameterIndex]++;
+            if (this.choices[parameterIndex] <= this.itemMatrix.get(parameterIndex).size()) {
+                return true;
+            }
+            this.choices[parameterIndex] = NONE;
+            return false;
+        }
+    }
+
+    /**
+     * Builds a decision diagram from the paths of a constraint, in the order they are explored.
+     */
+    private static final class DiagramBuilder {
+
+        private int[] cells = new int[16];
+        private int length = 1;
+        /** Cell to put the reference to the next node or leaf in. */
+        private int slot;
+        /** Whether the diagram exceeded {@link ConstraintScopes#MAX_DIAGRAM_LENGTH}. */
+        private boolean overflowed;
+
+        /**
+         * Adds a node at the current slot and moves to the branch of its first value.
+         *
+         * @return offset of the node
+         */
+        private int addNode(int parameterIndex, int valueCount) {
+            final int offset = this.length;
+            if (this.overflowed || offset + 3 + valueCount > MAX_DIAGRAM_LENGTH) {
+                this.overflowed = true;
+                return offset;
+            }
+            this.length = offset + 3 + valueCount;
+            if (this.length > this.cells.length) {
+                this.cells = Arrays.copyOf(this.cells, Math.max(this.length, 2 * this.cells.length));
+            }
+            this.cells[offset] = parameterIndex;
+            this.cells[offset + 1] = valueCount;
+            this.cells[this.slot] = offset;
+            this.slot = offset + 2;
+            return offset;
+        }
+
+        private void addLeaf(boolean met) {
+            if (!this.overflowed) {
+                this.cells[this.slot] = met ? MET : NOT_MET;
+            }
+        }
+
+        /** Moves to the branch of the node for the value index, or for being unbound if it is the number of values. */
+        private void moveTo(int nodeOffset, int choice) {
+            this.slot = nodeOffset + 2 + choice;
+        }
+
+        /** @return decision diagram, or {@code null} if it is too large */
+        private int[] build() {
+            return this.overflowed ? null : Arrays.copyOf(this.cells, this.length);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed results of a constraint for every state of the {@link Parameter}s of its scope.
+ * <p>
+ * Each {@link Parameter} of the scope is either bound to one of its values or unbound, so the table has
+ * {@code (size + 1)} states per {@link Parameter}. Unbound states are kept because constraints are tested against
+ * incomplete {@link Case}s as well. A state is looked up as a mixed-radix number formed by value indexes, where
+ * the value index equal to the {@link Parameter} size stands for unbound.
+ */
+final class ConstraintTable {
+
+    /** Maximum number of states a table is created for, which limits its size to 8 KiB. */
+    static final long MAX_STATE_COUNT = 1 << 16;
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    /** Ascending indexes of {@link Parameter}s of the scope. */
+    private final int[] scope;
+    /** Number of states per {@link Parameter} of the scope. */
+    private final int[] radixes;
+    /** Bit per state, set if the constraint is met. */
+    private final long[] metStates;
+
+    private ConstraintTable(int[] scope, int[] radixes, long[] metStates) {
+        this.scope = scope;
+        this.radixes = radixes;
+        this.metStates = metStates;
+    }
+
+    /**
+     * Tests the constraint against every state of its scope.
+     *
+     * @param constraint constraint to tabulate
+     * @param scope ascending indexes of all {@link Parameter}s the constraint may read
+     * @param itemMatrix {@link Item}s by {@link Parameter} index and value index
+     * @param parameterIndexes {@link Parameter} indexes mapped to {@link Parameter} names
+     * @return table or {@code null} if the scope has more than {@link ConstraintTable#MAX_STATE_COUNT} states
+     */
+    static ConstraintTable create(Predicate<ConstrainableCase> constraint, int[] scope, List<List<Item>> itemMatrix,
+                                  Map<String, Integer> parameterIndexes) {
+        final int[] radixes = new int[scope.length];
+        long stateCount = 1;
+        for (int j = 0; j < scope.length; j++) {
+            radixes[j] = itemMatrix.get(scope[j]).size() + 1;
+            stateCount *= radixes[j];
+            if (stateCount > MAX_STATE_COUNT) {
+                return null;
+            }
+        }
+
+        final long[] metStates = new long[(int) ((stateCount + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD)];
+        final ConstrainableCase constrainableCase = new ConstrainableCase(parameterIndexes);
+        final int[] valueIndexes = new int[scope.length];
+        for (int state = 0; state < stateCount; state++) {
+            for (int j = 0; j < scope.length; j++) {
+                if (valueIndexes[j] < radixes[j] - 1) {
+                    constrainableCase.bind(itemMatrix.get(scope[j]).get(valueIndexes[j]));
+                } else {
+                    constrainableCase.unbind(scope[j]);
+                }
+            }
+            if (ConstraintScopes.meetsConstraint(constraint, constrainableCase)) {
+                metStates[state >>> ADDRESS_BITS_PER_WORD] |= 1L << state;
+            }
+            // Advance to the next state, the last Parameter changing fastest
+            for (int j = scope.length - 1; j >= 0; j--) {
+                valueIndexes[j]++;
+                if (valueIndexes[j] < radixes[j]) {
+                    break;
+                }
+                valueIndexes[j] = 0;
+            }
+        }
+        return new ConstraintTable(scope, radixes, metStates);
+    }
+
+    int[] getScope() {
+        return this.scope;
+    }
+
+    int[] getRadixes() {
+        return this.radixes;
+    }
+
+    long[] getMetStates() {
+        return this.metStates;
+    }
+
+    /**
+     * Looks up the constraint result for the {@link ConstrainableCase}.
+     *
+     * @param constrainableCase {@link ConstrainableCase} with bound {@link Item}s
+     * @return {@code true} if the constraint is met
+     */
+    boolean isMet(ConstrainableCase constrainableCase) {
+        int state = 0;
+        for (int j = 0; j < this.scope.length; j++) {
+            final Item item = constrainableCase.getItem(this.scope[j]);
+            state = state * this.radixes[j] + (item == null ? this.radixes[j] - 1 : item.getValueIndex());
+        }
+        return (this.metStates[state >>> ADDRESS_BITS_PER_WORD] & (1L << state)) != 0;
+    }
+}
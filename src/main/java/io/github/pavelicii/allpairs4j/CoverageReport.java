@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Coverage of {@code n}-wise test combinations reached by generated test {@link Case}s, along with the reason
+ * generation stopped, or by a given suite of {@link Case}s, which may come from AllPairs or from another tool.
+ * <p>
+ * Generation stops before covering all expected test combinations only if a limit was reached. The {@link Case}s
+ * generated until then are still valid and are the ones returned by {@link AllPairs#getGeneratedCases()}.
+ *
+ * @see AllPairs#getCoverageReport()
+ * @see AllPairs#verifyCoverage(Iterable)
+ * @see AllPairs.AllPairsBuilder#withTimeLimit(java.time.Duration)
+ * @see AllPairs.AllPairsBuilder#withMaxCaseCount(int)
+ */
+public final class CoverageReport {
+
+    private final StopReason stopReason;
+    private final int caseCount;
+    private final long coveredTestCombinationsCount;
+    private final long expectedTestCombinationsCount;
+    private final Supplier<List<Map<String, Object>>> missingTestCombinationsSupplier;
+    /** Missing {@code n}-wise test combinations as {@link Map}s. Created only when requested. */
+    private List<Map<String, Object>> missingTestCombinations;
+
+    CoverageReport(StopReason stopReason, int caseCount, long coveredTestCombinationsCount,
+                   long expectedTestCombinationsCount,
+                   Supplier<List<Map<String, Object>>> missingTestCombinationsSupplier) {
+        this.stopReason = stopReason;
+        this.caseCount = caseCount;
+        this.coveredTestCombinationsCount = coveredTestCombinationsCount;
+        this.expectedTestCombinationsCount = expectedTestCombinationsCount;
+        this.missingTestCombinationsSupplier = missingTestCombinationsSupplier;
+    }
+
+    /**
+     * Returns the reason generation stopped.
+     *
+     * @return {@link StopReason}, {@code null} if the {@link Case}s were given to
+     *     {@link AllPairs#verifyCoverage(Iterable)}
+     */
+    public StopReason getStopReason() {
+        return this.stopReason;
+    }
+
+    public int getCaseCount() {
+        return this.caseCount;
+    }
+
+    /**
+     * Returns the number of expected {@code n}-wise test combinations contained in at least one {@link Case}.
+     *
+     * @return number of covered test combinations
+     */
+    public long getCoveredTestCombinationsCount() {
+        return this.coveredTestCombinationsCount;
+    }
+
+    /**
+     * Returns the number of {@code n}-wise test combinations to cover (considering constraints).
+     *
+     * @return number of expected test combinations
+     */
+    public long getExpectedTestCombinationsCount() {
+        return this.expectedTestCombinationsCount;
+    }
+
+    /**
+     * Returns the share of expected {@code n}-wise test combinations covered by the {@link Case}s.
+     *
+     * @return coverage from {@code 0.0} to {@code 1.0}, {@code 1.0} if there is nothing to cover
+     */
+    public double getCoverage() {
+        if (this.expectedTestCombinationsCount == 0) {
+            return 1.0;
+        }
+        return (double) this.coveredTestCombinationsCount / this.expectedTestCombinationsCount;
+    }
+
+    /**
+     * Tells whether all expected {@code n}-wise test combinations are covered.
+     *
+     * @return {@code true} if coverage is complete
+     */
+    public boolean isComplete() {
+        return this.coveredTestCombinationsCount == this.expectedTestCombinationsCount;
+    }
+
+    /**
+     * Returns expected {@code n}-wise test combinations not contained in any {@link Case}.
+     * <p>
+     * The {@link Map}s are created on the first call.
+     *
+     * @return {@link List} of {@link Map}s of {@code n}-wise test combinations, where key and value corresponds to
+     *     a {@link Parameter}'s name and one of its values respectively
+     */
+    public List<Map<String, Object>> getMissingTestCombinations() {
+        if (this.missingTestCombinations == null) {
+            this.missingTestCombinations = this.missingTestCombinationsSupplier.get();
+        }
+        return this.missingTestCombinations;
+    }
+
+    @Override
+    public String toString() {
+        final String coverage = String.format("%d Cases cover %d of %d test combinations (%.2f%%)",
+                this.caseCount, this.coveredTestCombinationsCount, this.expectedTestCombinationsCount,
+                getCoverage() * 100);
+        return this.stopReason == null ? coverage : coverage + ", stopped: " + this.stopReason;
+    }
+
+    /**
+     * Reason test {@link Case} generation stopped.
+     */
+    public enum StopReason {
+
+        /** No more {@link Case}s covering new test combinations can be found. */
+        ALL_CASES_GENERATED,
+
+        /** Generation ran out of time. */
+        TIME_LIMIT_REACHED,
+
+        /** The maximum number of {@link Case}s was generated. */
+        CASE_LIMIT_REACHED
+    }
+}
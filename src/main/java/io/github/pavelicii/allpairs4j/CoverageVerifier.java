@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds {@code n}-wise test combinations covered by arbitrary {@link Case}s in a single pass over them.
+ * <p>
+ * Each {@link Case} is translated to value indexes once, using a hash lookup per {@link Parameter} unless it was
+ * generated for the same {@link Parameter}s and already has value indexes, and its test
+ * combinations are marked in a {@link CombinationBitSet} by their {@link CombinationIndex} indexes. The work is
+ * proportional to the number of {@link Case}s times the number of test combinations in each of them, and no
+ * test combinations are created as objects.
+ * <p>
+ * {@link Case} entries which are not values of the model are ignored, as are test combinations including them.
+ */
+final class CoverageVerifier {
+
+    /** Marks {@link Parameter}s missing from a {@link Case} or having a value not in the model. */
+    private static final int UNKNOWN = -1;
+
+    private final List<Parameter> parameters;
+    private final CombinationIndex combinationIndex;
+    /** Test combination size. */
+    private final int n;
+    /** Value index of each value, by {@link Parameter} index. */
+    private final List<Map<Object, Integer>> valueIndexes;
+
+    CoverageVerifier(List<Parameter> parameters, CombinationIndex combinationIndex, int n) {
+        this.parameters = parameters;
+        this.combinationIndex = combinationIndex;
+        this.n = n;
+        this.valueIndexes = new ArrayList<>();
+        for (Parameter parameter : parameters) {
+            final Map<Object, Integer> indexes = new HashMap<>();
+            for (int valueIndex = 0; valueIndex < parameter.size(); valueIndex++) {
+                indexes.put(parameter.get(valueIndex), valueIndex);
+            }
+            this.valueIndexes.add(indexes);
+        }
+    }
+
+    /**
+     * Marks test combinations of the {@link Case}s.
+     *
+     * @param cases {@link Case}s to take test combinations from
+     * @param coveredCombinations set to add test combinations contained in the {@link Case}s to
+     * @return number of {@link Case}s
+     */
+    int addCoveredCombinations(Iterable<Case> cases, CombinationBitSet coveredCombinations) {
+        int caseCount = 0;
+        final int[] test = new int[this.parameters.size()];
+        final int[] knownParameters = new int[this.parameters.size()];
+        final int[] choice = new int[this.n];
+        final int[] subset = new int[this.n];
+        for (Case aCase : cases) {
+            caseCount++;
+            int knownCount = 0;
+            final boolean generated = aCase.isGeneratedFor(this.parameters);
+            for (int p = 0; p < test.length; p++) {
+                test[p] = generated ? aCase.getValueIndex(p) : findValueIndex(aCase, p);
+                if (test[p] != UNKNOWN) {
+                    knownParameters[knownCount++] = p;
+                }
+            }
+            if (knownCount < this.n) {
+                continue;
+            }
+
+            for (int i = 0; i < this.n; i++) {
+                choice[i] = i;
+            }
+            do {
+                for (int i = 0; i < this.n; i++) {
+                    subset[i] = knownParameters[choice[i]];
+                }
+                coveredCombinations.set(this.combinationIndex.index(subset, test));
+            } while (CombinationIndex.nextSubset(choice, knownCount));
+        }
+        return caseCount;
+    }
+
+    private int findValueIndex(Case aCase, int parameterIndex) {
+        final String name = this.parameters.get(parameterIndex).getName();
+        final Object value = aCase.get(name);
+        if (value == null && !aCase.containsKey(name)) {
+            return UNKNOWN;
+        }
+        final Integer valueIndex = this.valueIndexes.get(parameterIndex).get(value);
+        return valueIndex == null ? UNKNOWN : valueIndex;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Finds all {@code n}-wise test combinations which pass constraints.
+ * <p>
+ * Test combinations are visited {@link Parameter} subset by subset in colexicographical order, so any range of
+ * subset ranks covers a contiguous range of {@link CombinationIndex} indexes. When {@link ForkJoinPool} is provided,
+ * subset ranks are split into such ranges, each range is checked by a separate task into its own words, and the words
+ * are merged in range order. The result is the same as the one of sequential search.
+ */
+final class ExpectedCombinationsFinder {
+
+    /** Number of tasks created per {@link ForkJoinPool} thread to balance unevenly constrained ranges. */
+    private static final int TASKS_PER_THREAD = 4;
+    /** Minimum number of test combinations checked by one task. */
+    private static final long MIN_TASK_SIZE = 1 << 12;
+
+    private final List<List<Item>> itemMatrix;
+    private final CombinationIndex combinationIndex;
+    /** Test combination size. */
+    private final int n;
+    /** Creates a {@link ConstrainableCase} for each search, so that concurrent searches don't share it. */
+    private final Supplier<ConstrainableCase> constrainableCaseFactory;
+    /** Tests the bound test combination given its {@link Parameter} subset. */
+    private final BiPredicate<ConstrainableCase, int[]> validCombinationPredicate;
+
+    ExpectedCombinationsFinder(List<List<Item>> itemMatrix, CombinationIndex combinationIndex, int n,
+                               Supplier<ConstrainableCase> constrainableCaseFactory,
+                               BiPredicate<ConstrainableCase, int[]> validCombinationPredicate) {
+        this.itemMatrix = itemMatrix;
+        this.combinationIndex = combinationIndex;
+        this.n = n;
+        this.constrainableCaseFactory = constrainableCaseFactory;
+        this.validCombinationPredicate = validCombinationPredicate;
+    }
+
+    /**
+     * Finds valid test combinations.
+     *
+     * @param forkJoinPool pool to run the search on, or {@code null} to search in the calling thread
+     * @return valid {@code n}-wise test combinations
+     */
+    CombinationBitSet find(ForkJoinPool forkJoinPool) {
+        final CombinationBitSet result = new CombinationBitSet(this.combinationIndex.size(this.n));
+        final long subsetCount = this.combinationIndex.subsetCount(this.n);
+
+        if (forkJoinPool == null) {
+            visitValidCombinations(0, subsetCount, result::set);
+            return result;
+        }
+
+        final List<RangeTask> tasks = new ArrayList<>();
+        final long[] bounds = splitSubsetRanks(forkJoinPool.getParallelism() * TASKS_PER_THREAD);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            tasks.add(new RangeTask(bounds[i], bounds[i + 1]));
+        }
+        forkJoinPool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        for (RangeTask task : tasks) {
+            result.or(task.firstWordIndex, task.join());
+        }
+
+        return result;
+    }
+
+    /**
+     * Splits subset ranks into ranges with roughly the same number of test combinations.
+     *
+     * @param maxRanges maximum number of ranges
+     * @return ascending range bounds, starting with {@code 0} and ending with the number of subsets
+     */
+    private long[] splitSubsetRanks(int maxRanges) {
+        final long subsetCount = this.combinationIndex.subsetCount(this.n);
+        final long size = this.combinationIndex.size(this.n);
+        final int ranges = (int) Math.max(1, Math.min(maxRanges, size / MIN_TASK_SIZE));
+
+        final long[] bounds = new long[ranges + 1];
+        int boundCount = 1;
+        for (int i = 1; i < ranges; i++) {
+            final long rank = findFirstRankAtOrAfter(size / ranges * i, subsetCount);
+            if (rank > bounds[boundCount - 1] && rank < subsetCount) {
+                bounds[boundCount++] = rank;
+            }
+        }
+        bounds[boundCount++] = subsetCount;
+        return Arrays.copyOf(bounds, boundCount);
+    }
+
+    private long findFirstRankAtOrAfter(long index, long subsetCount) {
+        long low = 0;
+        long high = subsetCount;
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            if (this.combinationIndex.offset(this.n, middle) < index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks test combinations of the subset rank range and passes indexes of valid ones to the consumer.
+     * A single {@link ConstrainableCase} is reused for all test combinations.
+     *
+     * @param fromRank first subset rank, inclusive
+     * @param toRank last subset rank, exclusive
+     * @param validIndexConsumer consumer of valid test combination indexes, called in ascending index order
+     */
+    private void visitValidCombinations(long fromRank, long toRank, LongConsumer validIndexConsumer) {
+        final int[] subset = new int[this.n];
+        final int[] valueIndexes = new int[this.n];
+        final ConstrainableCase combination = this.constrainableCaseFactory.get();
+
+        this.combinationIndex.unrank(fromRank, subset);
+        for (long rank = fromRank; rank < toRank; rank++) {
+            if (rank > fromRank) {
+                this.combinationIndex.nextColex(subset);
+                combination.unbindAll();
+            }
+            long index = this.combinationIndex.offset(this.n, rank);
+            Arrays.fill(valueIndexes, 0);
+            do {
+                for (int j = 0; j < this.n; j++) {
+                    combination.bind(this.itemMatrix.get(subset[j]).get(valueIndexes[j]));
+                }
+                if (this.validCombinationPredicate.test(combination, subset)) {
+                    validIndexConsumer.accept(index);
+                }
+                index++;
+            } while (nextValueIndexes(valueIndexes, subset));
+        }
+    }
+
+    /**
+     * Advances value indexes to the next product element, the last index changing fastest.
+     *
+     * @param valueIndexes current value index per {@link Parameter} of the subset, updated in place
+     * @param subset {@link Parameter} indexes the value indexes belong to
+     * @return {@code false} if the indexes already pointed to the last product element
+     */
+    private boolean nextValueIndexes(int[] valueIndexes, int[] subset) {
+        for (int j = valueIndexes.length - 1; j >= 0; j--) {
+            valueIndexes[j]++;
+            if (valueIndexes[j] < this.itemMatrix.get(subset[j]).size()) {
+                return true;
+            }
+            valueIndexes[j] = 0;
+        }
+        return false;
+    }
+
+    /** Checks test combinations of a subset rank range into words covering its index range. */
+    private final class RangeTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long fromRank;
+        private final long toRank;
+        private final long firstWordIndex;
+
+        private RangeTask(long fromRank, long toRank) {
+            this.fromRank = fromRank;
+            this.toRank = toRank;
+            this.firstWordIndex = ExpectedCombinationsFinder.this.combinationIndex.offset(
+                    ExpectedCombinationsFinder.this.n, fromRank
+            ) / Long.SIZE;
+        }
+
+        @Override
+        protected long[] compute() {
+            final long lastIndex = ExpectedCombinationsFinder.this.combinationIndex.offset(
+                    ExpectedCombinationsFinder.this.n, this.toRank
+            ) - 1;
+            final long[] words = new long[Math.toIntExact(lastIndex / Long.SIZE - this.firstWordIndex + 1)];
+            visitValidCombinations(this.fromRank, this.toRank, index -> {
+                words[(int) (index / Long.SIZE - this.firstWordIndex)] |= 1L << index;
+            });
+            return words;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Removes values of not yet chosen {@link Parameter}s which are bound to violate constraints, as soon as
+ * the {@link Parameter}s before them are chosen.
+ * <p>
+ * A constraint can be tested for all values of the last {@link Parameter} of its scope once the other
+ * {@link Parameter}s of its scope are chosen: it will read the same values when that {@link Parameter} is reached.
+ * Values meeting the constraint are pruned, so they are skipped without testing constraints again, and a value which
+ * leaves some {@link Parameter} with no values is rejected before going deeper.
+ * <p>
+ * The constraint which pruned each value is kept, so that a failure can be explained by the {@link Parameter}s
+ * of its scope. Pruned values are recorded on a trail, along with the trail size when each depth was entered,
+ * so changing the value at a depth restores exactly the values pruned because of its previous value.
+ */
+final class ForwardChecker {
+
+    private static final int NOT_PRUNED = -1;
+
+    private final AllPairs allPairs;
+    private final List<List<Item>> itemMatrix;
+    private final ConstrainableCase constrainableCase;
+    /** Constraints to test for each depth, shifted by one so that index {@code 0} holds single-Parameter ones. */
+    private final int[][] constraintsByDepth;
+    /** Ascending {@link Parameter} indexes of the scope of each constraint. */
+    private final int[][] scopes;
+
+    /** Constraint which pruned each value by {@link Parameter} index and value index, or {@code NOT_PRUNED}. */
+    private final int[][] pruningConstraints;
+    /** Number of values not pruned for each {@link Parameter}. */
+    private final int[] domainSizes;
+    /** Pruned {@link Item}s in the order they were pruned. */
+    private final Item[] trail;
+    private int trailSize;
+    /** Trail size when each depth, shifted by one, was entered. */
+    private final int[] trailStarts;
+    /** {@link Parameter} left with no values by the last failed pruning. */
+    private int wipedOutParameter;
+
+    ForwardChecker(AllPairs allPairs, List<List<Item>> itemMatrix, ConstrainableCase constrainableCase) {
+        this.allPairs = allPairs;
+        this.itemMatrix = itemMatrix;
+        this.constrainableCase = constrainableCase;
+
+        final ConstraintScopes constraintScopes = allPairs.getConstraintScopes();
+        final List<List<Integer>> constraintLists = new ArrayList<>();
+        for (int depth = 0; depth <= itemMatrix.size(); depth++) {
+            constraintLists.add(new ArrayList<>());
+        }
+        this.scopes = new int[constraintScopes.getConstraintCount()][];
+        for (int c = 0; c < constraintScopes.getConstraintCount(); c++) {
+            final int[] scope = constraintScopes.getScope(c);
+            this.scopes[c] = scope;
+            if (scope.length > 0) {
+                constraintLists.get(scope.length > 1 ? scope[scope.length - 2] + 1 : 0).add(c);
+            }
+        }
+        this.constraintsByDepth = constraintLists.stream()
+                .map(constraints -> constraints.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+
+        this.pruningConstraints = new int[itemMatrix.size()][];
+        this.domainSizes = new int[itemMatrix.size()];
+        int itemCount = 0;
+        for (int p = 0; p < itemMatrix.size(); p++) {
+            this.pruningConstraints[p] = new int[itemMatrix.get(p).size()];
+            itemCount += itemMatrix.get(p).size();
+        }
+        this.trail = new Item[itemCount];
+        this.trailStarts = new int[itemMatrix.size() + 1];
+    }
+
+    /**
+     * Restores all values and prunes values violating single-{@link Parameter} constraints. Must be called with
+     * no {@link Item}s bound.
+     *
+     * @return {@code false} if some {@link Parameter} has no values left
+     */
+    boolean start() {
+        this.trailSize = 0;
+        for (int p = 0; p < this.itemMatrix.size(); p++) {
+            Arrays.fill(this.pruningConstraints[p], NOT_PRUNED);
+            this.domainSizes[p] = this.itemMatrix.get(p).size();
+        }
+        return prune(-1);
+    }
+
+    /**
+     * Marks the start of prunings caused by the depth. Must be called when the depth is reached from the one above.
+     *
+     * @param depth index of the {@link Parameter} being chosen
+     */
+    void enter(int depth) {
+        this.trailStarts[depth + 1] = this.trailSize;
+    }
+
+    boolean isPruned(Item item) {
+        return this.pruningConstraints[item.getParameterIndex()][item.getValueIndex()] != NOT_PRUNED;
+    }
+
+    /**
+     * Adds {@link Parameter}s whose values caused the {@link Item} to be pruned.
+     *
+     * @param item pruned {@link Item}
+     * @param conflicts {@link Parameter} indexes to add to
+     */
+    void addPruningReason(Item item, BitSet conflicts) {
+        final int constraintIndex = this.pruningConstraints[item.getParameterIndex()][item.getValueIndex()];
+        for (int parameterIndex : this.scopes[constraintIndex]) {
+            if (parameterIndex != item.getParameterIndex()) {
+                conflicts.set(parameterIndex);
+            }
+        }
+    }
+
+    /**
+     * Adds {@link Parameter}s whose values caused all values of some {@link Parameter} to be pruned, after
+     * {@link ForwardChecker#prune(int)} returned {@code false}.
+     *
+     * @param conflicts {@link Parameter} indexes to add to
+     */
+    void addWipeOutReason(BitSet conflicts) {
+        for (Item item : this.itemMatrix.get(this.wipedOutParameter)) {
+            addPruningReason(item, conflicts);
+        }
+    }
+
+    /**
+     * Restores values pruned because of the value previously chosen at the depth.
+     *
+     * @param depth index of the {@link Parameter} which value is changed or unbound
+     */
+    void retract(int depth) {
+        final int trailStart = this.trailStarts[depth + 1];
+        while (this.trailSize > trailStart) {
+            final Item item = this.trail[--this.trailSize];
+            this.pruningConstraints[item.getParameterIndex()][item.getValueIndex()] = NOT_PRUNED;
+            this.domainSizes[item.getParameterIndex()]++;
+        }
+    }
+
+    /**
+     * Prunes values of later {@link Parameter}s which violate constraints given the value chosen at the depth.
+     *
+     * @param depth index of the {@link Parameter} which value was chosen and met no constraints
+     * @return {@code false} if some {@link Parameter} has no values left
+     */
+    boolean prune(int depth) {
+        for (int c : this.constraintsByDepth[depth + 1]) {
+            final int targetParameter = this.scopes[c][this.scopes[c].length - 1];
+            for (Item item : this.itemMatrix.get(targetParameter)) {
+                if (isPruned(item)) {
+                    continue;
+                }
+                this.constrainableCase.bind(item);
+                if (this.allPairs.meetsConstraint(c, this.constrainableCase)) {
+                    this.pruningConstraints[targetParameter][item.getValueIndex()] = c;
+                    this.trail[this.trailSize++] = item;
+                    this.domainSizes[targetParameter]--;
+                }
+            }
+            this.constrainableCase.unbind(targetParameter);
+            if (this.domainSizes[targetParameter] == 0) {
+                this.wipedOutParameter = targetParameter;
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+/**
+ * Generated test {@link Case} along with the coverage it added and the work spent on finding it.
+ * <p>
+ * Work is counted from the end of the search for the previous {@link Case}. {@link GenerationStrategy#IPOG} finds
+ * all {@link Case}s at once, so all its work is reported with the first {@link Case}.
+ *
+ * @see GenerationListener
+ */
+public final class GenerationEvent {
+
+    private final int caseNumber;
+    private final Case generatedCase;
+    private final long newTestCombinationsCount;
+    private final long coveredTestCombinationsCount;
+    private final long expectedTestCombinationsCount;
+    private final long backtrackCount;
+    private final long constraintEvaluationCount;
+    private final long elapsedNanos;
+
+    GenerationEvent(CaseGenerator caseGenerator, Case generatedCase) {
+        this.caseNumber = caseGenerator.getCaseCount();
+        this.generatedCase = generatedCase;
+        this.newTestCombinationsCount = caseGenerator.getNewTestCombinationsCount();
+        this.coveredTestCombinationsCount = caseGenerator.getCoveredTestCombinationsCount();
+        this.expectedTestCombinationsCount = caseGenerator.getExpectedTestCombinationsCount();
+        this.backtrackCount = caseGenerator.getBacktrackCount();
+        this.constraintEvaluationCount = caseGenerator.getConstraintEvaluationCount();
+        this.elapsedNanos = caseGenerator.getElapsedNanos();
+    }
+
+    /**
+     * Returns number of the {@link Case} in generation order, starting from {@code 1}.
+     *
+     * @return {@link Case} number
+     */
+    public int getCaseNumber() {
+        return this.caseNumber;
+    }
+
+    public Case getCase() {
+        return this.generatedCase;
+    }
+
+    /**
+     * Returns the number of {@code n}-wise test combinations covered by this {@link Case} and by none of the
+     * previous ones.
+     *
+     * @return number of new test combinations
+     */
+    public long getNewTestCombinationsCount() {
+        return this.newTestCombinationsCount;
+    }
+
+    /**
+     * Returns the number of {@code n}-wise test combinations covered by this and all previous {@link Case}s.
+     *
+     * @return number of covered test combinations
+     */
+    public long getCoveredTestCombinationsCount() {
+        return this.coveredTestCombinationsCount;
+    }
+
+    /**
+     * Returns the number of {@code n}-wise test combinations to cover (considering constraints).
+     *
+     * @return number of expected test combinations
+     */
+    public long getExpectedTestCombinationsCount() {
+        return this.expectedTestCombinationsCount;
+    }
+
+    /**
+     * Returns how many times the search stepped back from a {@link Parameter} which had no values left to try.
+     *
+     * @return number of backtracks
+     */
+    public long getBacktrackCount() {
+        return this.backtrackCount;
+    }
+
+    /**
+     * Returns how many times constraints were tested, including lookups of tabulated constraints.
+     *
+     * @return number of constraint evaluations
+     * @see AllPairs.AllPairsBuilder#tabulateConstraints()
+     */
+    public long getConstraintEvaluationCount() {
+        return this.constraintEvaluationCount;
+    }
+
+    /**
+     * Returns time spent on finding this {@link Case}, not including listeners.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Case %d: %d new, %d/%d covered, %d backtracks, %d constraint evaluations, %d ns",
+                this.caseNumber, this.newTestCombinationsCount, this.coveredTestCombinationsCount,
+                this.expectedTestCombinationsCount, this.backtrackCount, this.constraintEvaluationCount,
+                this.elapsedNanos
+        );
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+/**
+ * Receives progress of test {@link Case} generation, one {@link GenerationEvent} per generated {@link Case}.
+ * <p>
+ * Called in the thread generating {@link Case}s, right after each {@link Case} is found and before it is returned,
+ * so a slow listener slows generation down.
+ * <p>
+ * <strong>Example:</strong>
+ * <pre>{@code
+ *     e -> System.out.printf("%d: %d/%d test combinations covered in %d ms%n", e.getCaseNumber(),
+ *             e.getCoveredTestCombinationsCount(), e.getExpectedTestCombinationsCount(),
+ *             TimeUnit.NANOSECONDS.toMillis(e.getElapsedNanos()))
+ * }</pre>
+ *
+ * @see AllPairs.AllPairsBuilder#withGenerationListener(GenerationListener)
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    /**
+     * Called when a test {@link Case} is generated.
+     *
+     * @param event {@link GenerationEvent} describing the generated {@link Case} and the work spent on it
+     */
+    void onCaseGenerated(GenerationEvent event);
+}
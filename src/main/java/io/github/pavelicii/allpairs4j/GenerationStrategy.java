@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+/**
+ * Algorithm used to generate test {@link Case}s. Every algorithm honours constraints and test combination size.
+ *
+ * @see AllPairs.AllPairsBuilder#withGenerationStrategy(GenerationStrategy)
+ */
+public enum GenerationStrategy {
+
+    /**
+     * Builds one {@link Case} at a time, choosing {@link Parameter} values one by one, trying the values producing
+     * most new test combinations first and backtracking when a value violates constraints.
+     * <p>
+     * Produces {@link Case}s lazily and usually generates the smallest number of them for moderate inputs.
+     */
+    BACKTRACKING {
+        @Override
+        CaseGenerator createCaseGenerator(AllPairs allPairs) {
+            return new BacktrackingCaseGenerator(allPairs);
+        }
+    },
+
+    /**
+     * In-Parameter-Order (IPOG) algorithm. Starts with all test combinations of the first {@code n}
+     * {@link Parameter}s and adds the rest one at a time: first extends every existing {@link Case} with the value
+     * producing most new test combinations (horizontal extension), then adds values or new {@link Case}s
+     * for the test combinations still not covered (vertical extension).
+     * <p>
+     * Scales much better for large numbers of {@link Parameter}s, but finds all {@link Case}s before returning
+     * the first one. Specifying {@link Parameter}s with most values first usually gives fewer {@link Case}s.
+     */
+    IPOG {
+        @Override
+        CaseGenerator createCaseGenerator(AllPairs allPairs) {
+            return new IpogCaseGenerator(allPairs);
+        }
+    };
+
+    /**
+     * Starts a new generation run.
+     *
+     * @param allPairs {@link AllPairs} providing {@link Parameter}s, constraints and test combination size
+     * @return {@link CaseGenerator} producing {@link Case}s
+     */
+    abstract CaseGenerator createCaseGenerator(AllPairs allPairs);
+}
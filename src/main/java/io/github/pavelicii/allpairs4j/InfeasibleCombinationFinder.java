@@ -0,0 +1,256 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Finds {@code n}-wise test combinations which pass constraints on their own, but can't be completed to a valid
+ * {@link Case} because of interacting constraints.
+ * <p>
+ * Each expected test combination is completed by depth-first search over the other {@link Parameter}s, with values
+ * violating constraints pruned by {@link ForwardChecker}. A completed {@link Case} proves all test combinations it
+ * contains feasible, so most test combinations are never searched for. Values of the other {@link Parameter}s are
+ * tried starting from a random one, so that completed {@link Case}s differ from each other. A test combination is
+ * infeasible when the search is exhausted. A search taking too many steps is given up and its test combination is
+ * assumed feasible, as it would have been without this analysis.
+ */
+final class InfeasibleCombinationFinder {
+
+    /** Marks {@link Parameter}s which may take any value in the search. */
+    private static final int FREE = -1;
+    /** Maximum number of values tried when completing one test combination. */
+    private static final int MAX_STEPS_PER_COMBINATION = 1 << 14;
+    /** Seed of the first values to try, fixed so that the analysis is repeatable. */
+    private static final long SEED = 0;
+
+    private final AllPairs allPairs;
+    private final List<List<Item>> itemMatrix;
+    private final CombinationIndex combinationIndex;
+    /** Test combination size. */
+    private final int n;
+    private final ConstrainableCase constrainableCase;
+    private final ForwardChecker forwardChecker;
+    /** Value index fixed for each {@link Parameter} of the searched test combination, or {@code FREE}. */
+    private final int[] fixedValueIndexes;
+    /** Value index chosen for each {@link Parameter} by the search. */
+    private final int[] valueIndexes;
+    /** Number of values tried for each {@link Parameter} since it was reached by the search. */
+    private final int[] triedValueCounts;
+    /** Value index to start trying from for each {@link Parameter}. */
+    private final int[] firstValueIndexes;
+    private final Random random;
+
+    InfeasibleCombinationFinder(AllPairs allPairs, List<List<Item>> itemMatrix) {
+        this.allPairs = allPairs;
+        this.itemMatrix = itemMatrix;
+        this.combinationIndex = allPairs.getCombinationIndex();
+        this.n = allPairs.getTestCombinationSize();
+        this.constrainableCase = allPairs.newConstrainableCase();
+        this.forwardChecker = new ForwardChecker(allPairs, itemMatrix, this.constrainableCase);
+        this.fixedValueIndexes = new int[itemMatrix.size()];
+        this.valueIndexes = new int[itemMatrix.size()];
+        this.triedValueCounts = new int[itemMatrix.size()];
+        this.firstValueIndexes = new int[itemMatrix.size()];
+        this.random = new Random(SEED);
+    }
+
+    /**
+     * Removes infeasible test combinations from the expected ones.
+     *
+     * @param expectedCombinations test combinations passing constraints, updated in place
+     * @return removed test combinations
+     */
+    CombinationBitSet removeInfeasible(CombinationBitSet expectedCombinations) {
+        final CombinationBitSet infeasibleCombinations = new CombinationBitSet(expectedCombinations.size());
+        if (this.allPairs.getConstraints().isEmpty()) {
+            return infeasibleCombinations;
+        }
+        final CombinationBitSet feasibleCombinations = new CombinationBitSet(expectedCombinations.size());
+
+        final int[] subset = new int[this.n];
+        for (int i = 0; i < this.n; i++) {
+            subset[i] = i;
+        }
+        Arrays.fill(this.fixedValueIndexes, FREE);
+        do {
+            for (int parameterIndex : subset) {
+                this.fixedValueIndexes[parameterIndex] = 0;
+            }
+            do {
+                final long index = this.combinationIndex.index(subset, this.fixedValueIndexes);
+                if (expectedCombinations.get(index) && !feasibleCombinations.get(index)) {
+                    final SearchResult searchResult = complete();
+                    if (searchResult == SearchResult.COMPLETED) {
+                        addAllCombinations(feasibleCombinations);
+                    } else if (searchResult == SearchResult.EXHAUSTED) {
+                        infeasibleCombinations.set(index);
+                        expectedCombinations.clear(index);
+                    } else {
+                        feasibleCombinations.set(index);
+                    }
+                }
+            } while (nextValues(subset));
+            for (int parameterIndex : subset) {
+                this.fixedValueIndexes[parameterIndex] = FREE;
+            }
+        } while (CombinationIndex.nextSubset(subset, this.itemMatrix.size()));
+
+        return infeasibleCombinations;
+    }
+
+    /**
+     * Tells whether the values can be completed to a valid {@link Case}. A search taking too many steps is given up
+     * and the values are assumed to be possible to complete.
+     *
+     * @param valueIndexes value index of each {@link Parameter}, {@code -1} for {@link Parameter}s which may take
+     *     any value
+     * @return {@code false} if every {@link Case} containing the values violates constraints
+     */
+    boolean isCompletable(int[] valueIndexes) {
+        if (this.allPairs.getConstraints().isEmpty()) {
+            return true;
+        }
+        System.arraycopy(valueIndexes, 0, this.fixedValueIndexes, 0, valueIndexes.length);
+        final boolean completable = complete() != SearchResult.EXHAUSTED;
+        Arrays.fill(this.fixedValueIndexes, FREE);
+        return completable;
+    }
+
+    /**
+     * Searches for a valid {@link Case} containing the fixed values, leaving its value indexes in
+     * {@code valueIndexes} when found.
+     *
+     * @return result of the search
+     */
+    private SearchResult complete() {
+        this.constrainableCase.unbindAll();
+        if (!this.forwardChecker.start() || !areFixedValuesLeft(-1)) {
+            return SearchResult.EXHAUSTED;
+        }
+
+        for (int p = 0; p < this.itemMatrix.size(); p++) {
+            this.firstValueIndexes[p] = this.fixedValueIndexes[p] == FREE
+                    ? this.random.nextInt(this.itemMatrix.get(p).size())
+                    : this.fixedValueIndexes[p];
+        }
+        int steps = 0;
+        int depth = 0;
+        this.triedValueCounts[0] = 0;
+        this.forwardChecker.enter(0);
+        while (true) {
+            if (!nextValue(depth)) {
+                if (depth == 0) {
+                    return SearchResult.EXHAUSTED;
+                }
+                this.constrainableCase.unbind(depth);
+                this.forwardChecker.retract(depth);
+                depth--;
+                continue;
+            }
+            if (++steps > MAX_STEPS_PER_COMBINATION) {
+                return SearchResult.GIVEN_UP;
+            }
+
+            final Item item = this.itemMatrix.get(depth).get(this.valueIndexes[depth]);
+            if (this.forwardChecker.isPruned(item)) {
+                continue;
+            }
+            this.constrainableCase.bind(item);
+            this.forwardChecker.retract(depth);
+            if (this.allPairs.isValidCase(this.constrainableCase, depth)
+                    && this.forwardChecker.prune(depth)
+                    && areFixedValuesLeft(depth)) {
+                if (depth == this.itemMatrix.size() - 1) {
+                    return SearchResult.COMPLETED;
+                }
+                depth++;
+                this.triedValueCounts[depth] = 0;
+                this.forwardChecker.enter(depth);
+            }
+        }
+    }
+
+    /**
+     * Advances the search to the next value of the {@link Parameter}.
+     *
+     * @return {@code false} if all values of the {@link Parameter} were tried
+     */
+    private boolean nextValue(int parameterIndex) {
+        final int valueCount = this.fixedValueIndexes[parameterIndex] == FREE
+                ? this.itemMatrix.get(parameterIndex).size()
+                : 1;
+        if (this.triedValueCounts[parameterIndex] == valueCount) {
+            return false;
+        }
+        this.valueIndexes[parameterIndex] = (this.firstValueIndexes[parameterIndex]
+                + this.triedValueCounts[parameterIndex]++) % this.itemMatrix.get(parameterIndex).size();
+        return true;
+    }
+
+    /**
+     * Tells whether the fixed values of the {@link Parameter}s after the depth are not pruned.
+     *
+     * @param depth index of the last chosen {@link Parameter}
+     * @return {@code false} if the search can't reach a {@link Case} containing all fixed values
+     */
+    private boolean areFixedValuesLeft(int depth) {
+        for (int p = depth + 1; p < this.itemMatrix.size(); p++) {
+            if (this.fixedValueIndexes[p] != FREE
+                    && this.forwardChecker.isPruned(this.itemMatrix.get(p).get(this.fixedValueIndexes[p]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds all test combinations of the {@link Case} found by the last search.
+     */
+    private void addAllCombinations(CombinationBitSet combinations) {
+        final int[] subset = new int[this.n];
+        for (int i = 0; i < this.n; i++) {
+            subset[i] = i;
+        }
+        do {
+            combinations.set(this.combinationIndex.index(subset, this.valueIndexes));
+        } while (CombinationIndex.nextSubset(subset, this.itemMatrix.size()));
+    }
+
+    private boolean nextValues(int[] subset) {
+        for (int i = subset.length - 1; i >= 0; i--) {
+            final int parameterIndex = subset[i];
+            this.fixedValueIndexes[parameterIndex]++;
+            if (this.fixedValueIndexes[parameterIndex] < this.combinationIndex.getParameterSize(parameterIndex)) {
+                return true;
+            }
+            this.fixedValueIndexes[parameterIndex] = 0;
+        }
+        return false;
+    }
+
+    private enum SearchResult {
+        /** A valid {@link Case} containing the test combination was found. */
+        COMPLETED,
+        /** No valid {@link Case} contains the test combination. */
+        EXHAUSTED,
+        /** The search took too many steps. */
+        GIVEN_UP
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * In-Parameter-Order (IPOG) algorithm: builds all {@link Case}s at once, adding {@link Parameter}s one by one.
+ * <p>
+ * Tests are kept as arrays of value indexes by {@link Parameter} index, where {@link IpogCaseGenerator#DONT_CARE}
+ * marks a {@link Parameter} which value does not matter yet. Every change of a test is checked against constraints,
+ * and the remaining {@link IpogCaseGenerator#DONT_CARE} values are chosen by backtracking at the end.
+ * <p>
+ * Seed {@link Case}s are the first tests, with {@link IpogCaseGenerator#DONT_CARE} for {@link Parameter}s they lack.
+ * Their values are never changed, so test combinations they contain are covered as soon as one of their
+ * {@link Parameter}s is added.
+ *
+ * @see GenerationStrategy#IPOG
+ */
+final class IpogCaseGenerator extends CaseGenerator {
+
+    /** Value index of a {@link Parameter} which value is not chosen yet. */
+    private static final int DONT_CARE = -1;
+
+    private final AllPairs allPairs;
+    /** Test combination size. */
+    private final int n;
+    private final List<List<Item>> itemMatrix;
+    private final CombinationIndex combinationIndex;
+    private final CombinationBitSet expectedCombinations;
+    private final ConstrainableCase constrainableCase;
+    /** Test combinations covered by the returned {@link Case}s. */
+    private final CombinationBitSet returnedCombinations;
+
+    private CombinationBitSet coveredCombinations;
+    /** Remaining tests to return, {@code null} until the first {@link Case} is requested. */
+    private Iterator<int[]> remainingTests;
+
+    IpogCaseGenerator(AllPairs allPairs) {
+        super(allPairs);
+        this.allPairs = allPairs;
+        this.n = allPairs.getTestCombinationSize();
+        this.itemMatrix = AllPairs.createItemMatrix(allPairs.getParameters());
+        this.combinationIndex = allPairs.getCombinationIndex();
+        this.expectedCombinations = allPairs.getExpectedUniqueTestCombinationSet();
+        this.constrainableCase = allPairs.newConstrainableCase();
+        this.coveredCombinations = new CombinationBitSet(this.combinationIndex.size(this.n));
+        this.returnedCombinations = new CombinationBitSet(this.combinationIndex.size(this.n));
+    }
+
+    /**
+     * Returns next test {@link Case} found by IPOG algorithm. The first call finds all of them.
+     *
+     * @return {@link Case} or {@code null} if all {@link Case}s are already returned
+     */
+    @Override
+    Case generateNextCase() {
+        if (this.remainingTests == null) {
+            this.remainingTests = findTests().iterator();
+        }
+        if (!this.remainingTests.hasNext()) {
+            return null;
+        }
+        final int[] test = this.remainingTests.next();
+        coverAllCombinations(test, this.returnedCombinations);
+        return this.allPairs.newCase(test);
+    }
+
+    @Override
+    long countCoveredTestCombinations() {
+        return this.returnedCombinations.cardinality();
+    }
+
+    @Override
+    long countConstraintEvaluations() {
+        return this.constrainableCase.getConstraintEvaluationCount();
+    }
+
+    private List<int[]> findTests() {
+        final List<int[]> tests = new ArrayList<>();
+
+        final int[] firstSubset = new int[this.n];
+        for (int i = 0; i < this.n; i++) {
+            firstSubset[i] = i;
+        }
+        for (int[] seedTest : this.allPairs.getSeedTests()) {
+            final int[] test = seedTest.clone();
+            tests.add(test);
+            if (Arrays.stream(test, 0, this.n).noneMatch(valueIndex -> valueIndex == DONT_CARE)) {
+                this.coveredCombinations.set(this.combinationIndex.index(firstSubset, test));
+            }
+        }
+
+        // Start with all test combinations of the first n Parameters
+        final int[] values = newTest();
+        for (int i = 0; i < this.n; i++) {
+            values[i] = 0;
+        }
+        do {
+            final long index = this.combinationIndex.index(firstSubset, values);
+            if (this.expectedCombinations.get(index) && !this.coveredCombinations.get(index)) {
+                tests.add(values.clone());
+                this.coveredCombinations.set(index);
+            }
+        } while (nextValues(values, firstSubset));
+
+        for (int parameterIndex = this.n; parameterIndex < this.itemMatrix.size(); parameterIndex++) {
+            if (isTimeLimitReached()) {
+                break; // Values of the remaining Parameters are chosen when completing the tests
+            }
+            extendHorizontally(tests, parameterIndex);
+            extendVertically(tests, parameterIndex);
+        }
+
+        return completeTests(tests);
+    }
+
+    /**
+     * Sets the value of the new {@link Parameter} in each test to the one producing most new test combinations.
+     * Tests where no value produces new test combinations keep {@link IpogCaseGenerator#DONT_CARE}.
+     */
+    private void extendHorizontally(List<int[]> tests, int parameterIndex) {
+        final int parameterSize = this.combinationIndex.getParameterSize(parameterIndex);
+        for (int[] test : tests) {
+            if (isTimeLimitReached()) {
+                return;
+            }
+            if (test[parameterIndex] != DONT_CARE) {
+                coverCombinations(test, parameterIndex, true); // Value of a seed Case
+                continue;
+            }
+            int bestValueIndex = DONT_CARE;
+            int bestCount = 0;
+            for (int valueIndex = 0; valueIndex < parameterSize; valueIndex++) {
+                test[parameterIndex] = valueIndex;
+                final int count = coverCombinations(test, parameterIndex, false);
+                if (count > bestCount && isValid(test, parameterIndex)) {
+                    bestValueIndex = valueIndex;
+                    bestCount = count;
+                }
+            }
+            test[parameterIndex] = bestValueIndex;
+            if (bestValueIndex != DONT_CARE) {
+                coverCombinations(test, parameterIndex, true);
+            }
+        }
+    }
+
+    /**
+     * Covers each remaining test combination including the new {@link Parameter}, either by setting
+     * {@link IpogCaseGenerator#DONT_CARE} values of an existing test or by adding a new test.
+     */
+    private void extendVertically(List<int[]> tests, int parameterIndex) {
+        final int[] otherParameters = new int[this.n - 1];
+        for (int i = 0; i < otherParameters.length; i++) {
+            otherParameters[i] = i;
+        }
+        final int[] subset = new int[this.n];
+        subset[this.n - 1] = parameterIndex;
+        final int[] combination = newTest();
+
+        do {
+            System.arraycopy(otherParameters, 0, subset, 0, otherParameters.length);
+            for (int subsetParameter : subset) {
+                combination[subsetParameter] = 0;
+            }
+            do {
+                if (isTimeLimitReached()) {
+                    return;
+                }
+                final long index = this.combinationIndex.index(subset, combination);
+                if (this.expectedCombinations.get(index) && !this.coveredCombinations.get(index)) {
+                    coverCombination(tests, subset, combination);
+                }
+            } while (nextValues(combination, subset));
+            for (int subsetParameter : subset) {
+                combination[subsetParameter] = DONT_CARE;
+            }
+        } while (CombinationIndex.nextSubset(otherParameters, parameterIndex));
+    }
+
+    private void coverCombination(List<int[]> tests, int[] subset, int[] combination) {
+        final int[] changedParameters = new int[subset.length];
+        for (int[] test : tests) {
+            int changedCount = 0;
+            boolean compatible = true;
+            for (int subsetParameter : subset) {
+                if (test[subsetParameter] == DONT_CARE) {
+                    changedParameters[changedCount++] = subsetParameter;
+                } else if (test[subsetParameter] != combination[subsetParameter]) {
+                    compatible = false;
+                    break;
+                }
+            }
+            if (!compatible) {
+                continue;
+            }
+
+            for (int i = 0; i < changedCount; i++) {
+                test[changedParameters[i]] = combination[changedParameters[i]];
+            }
+            if (isValid(test)) {
+                for (int i = 0; i < changedCount; i++) {
+                    coverCombinations(test, changedParameters[i], true);
+                }
+                return;
+            }
+            for (int i = 0; i < changedCount; i++) {
+                test[changedParameters[i]] = DONT_CARE;
+            }
+        }
+
+        final int[] test = newTest();
+        for (int subsetParameter : subset) {
+            test[subsetParameter] = combination[subsetParameter];
+        }
+        tests.add(test);
+        coverCombinations(test, subset[subset.length - 1], true);
+    }
+
+    /**
+     * Chooses values for all {@link IpogCaseGenerator#DONT_CARE}s. Tests which cannot be completed because of
+     * constraints are dropped. Test combinations covered only by them are merged into new tests unless they cannot be
+     * completed alone, and those still left uncovered get tests of their own when possible. Once the time limit is
+     * reached, only the tests found so far are completed. Seed {@link Case}s are never dropped, their chosen values
+     * are discarded instead if they can't be completed.
+     */
+    private List<int[]> completeTests(List<int[]> tests) {
+        final List<int[]> completedTests = new ArrayList<>();
+        this.coveredCombinations = new CombinationBitSet(this.combinationIndex.size(this.n));
+        final List<int[]> seedTests = this.allPairs.getSeedTests();
+        for (int s = 0; s < seedTests.size(); s++) {
+            if (!complete(tests.get(s))) {
+                tests.set(s, seedTests.get(s).clone()); // Values chosen for the seed Case left no way to complete it
+            }
+        }
+        addCompletedTests(tests, completedTests);
+        if (isTimeLimitReached()) {
+            return completedTests;
+        }
+
+        final List<int[]> extraTests = new ArrayList<>();
+        forEachUncoveredCombination((subset, combination) -> {
+            if (complete(combination.clone())) {
+                coverCombination(extraTests, subset, combination);
+            }
+        });
+        this.coveredCombinations = new CombinationBitSet(this.combinationIndex.size(this.n));
+        completedTests.forEach(this::coverAllCombinations);
+        addCompletedTests(extraTests, completedTests);
+
+        forEachUncoveredCombination((subset, combination) ->
+                addCompletedTests(Collections.singletonList(combination.clone()), completedTests));
+
+        return completedTests;
+    }
+
+    private void addCompletedTests(List<int[]> tests, List<int[]> completedTests) {
+        for (int[] test : tests) {
+            if (complete(test)) {
+                completedTests.add(test);
+                coverAllCombinations(test);
+            }
+        }
+    }
+
+    /**
+     * Passes each expected and not yet covered test combination to the action, as ascending {@link Parameter} indexes
+     * and a test having values only for these {@link Parameter}s. Test combinations covered by the action are skipped.
+     */
+    private void forEachUncoveredCombination(BiConsumer<int[], int[]> action) {
+        final int[] subset = new int[this.n];
+        for (int i = 0; i < this.n; i++) {
+            subset[i] = i;
+        }
+        final int[] combination = newTest();
+        do {
+            for (int subsetParameter : subset) {
+                combination[subsetParameter] = 0;
+            }
+            do {
+                final long index = this.combinationIndex.index(subset, combination);
+                if (this.expectedCombinations.get(index) && !this.coveredCombinations.get(index)) {
+                    action.accept(subset, combination);
+                }
+            } while (nextValues(combination, subset));
+            for (int subsetParameter : subset) {
+                combination[subsetParameter] = DONT_CARE;
+            }
+        } while (CombinationIndex.nextSubset(subset, this.itemMatrix.size()));
+    }
+
+    /**
+     * Replaces {@link IpogCaseGenerator#DONT_CARE}s of the test with the first values satisfying constraints.
+     *
+     * @return {@code false} if there are no such values, the test is then left unchanged
+     */
+    private boolean complete(int[] test) {
+        final int[] freeParameters = new int[test.length];
+        int freeCount = 0;
+        for (int parameterIndex = 0; parameterIndex < test.length; parameterIndex++) {
+            if (test[parameterIndex] == DONT_CARE) {
+                freeParameters[freeCount++] = parameterIndex;
+            }
+        }
+        if (freeCount == 0) {
+            return isValid(test);
+        }
+
+        int depth = 0;
+        while (depth >= 0) {
+            if (depth == freeCount) {
+                return true;
+            }
+            final int parameterIndex = freeParameters[depth];
+            test[parameterIndex]++;
+            if (test[parameterIndex] == this.combinationIndex.getParameterSize(parameterIndex)) {
+                test[parameterIndex] = DONT_CARE;
+                countBacktrack();
+                depth--;
+            } else if (isValid(test, parameterIndex)) {
+                depth++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts expected and not yet covered test combinations formed by the {@link Parameter} and other
+     * {@link Parameter}s with chosen values in the test.
+     *
+     * @param mark whether to mark counted test combinations as covered
+     * @return number of new test combinations
+     */
+    private int coverCombinations(int[] test, int parameterIndex, boolean mark) {
+        final int[] others = new int[test.length];
+        int othersCount = 0;
+        for (int otherIndex = 0; otherIndex < test.length; otherIndex++) {
+            if (otherIndex != parameterIndex && test[otherIndex] != DONT_CARE) {
+                others[othersCount++] = otherIndex;
+            }
+        }
+        if (othersCount < this.n - 1) {
+            return 0;
+        }
+
+        final int[] choice = new int[this.n - 1];
+        for (int i = 0; i < choice.length; i++) {
+            choice[i] = i;
+        }
+        final int[] subset = new int[this.n];
+        int count = 0;
+        do {
+            int j = 0;
+            boolean inserted = false;
+            for (int chosen : choice) {
+                if (!inserted && parameterIndex < others[chosen]) {
+                    subset[j++] = parameterIndex;
+                    inserted = true;
+                }
+                subset[j++] = others[chosen];
+            }
+            if (!inserted) {
+                subset[j] = parameterIndex;
+            }
+
+            final long index = this.combinationIndex.index(subset, test);
+            if (this.expectedCombinations.get(index) && !this.coveredCombinations.get(index)) {
+                count++;
+                if (mark) {
+                    this.coveredCombinations.set(index);
+                }
+            }
+        } while (CombinationIndex.nextSubset(choice, othersCount));
+        return count;
+    }
+
+    private void coverAllCombinations(int[] test) {
+        coverAllCombinations(test, this.coveredCombinations);
+    }
+
+    private void coverAllCombinations(int[] test, CombinationBitSet combinations) {
+        final int[] subset = new int[this.n];
+        for (int i = 0; i < this.n; i++) {
+            subset[i] = i;
+        }
+        do {
+            final long index = this.combinationIndex.index(subset, test);
+            if (this.expectedCombinations.get(index)) {
+                combinations.set(index);
+            }
+        } while (CombinationIndex.nextSubset(subset, test.length));
+    }
+
+    /**
+     * Advances values of the given {@link Parameter}s to the next combination, the last {@link Parameter} changing
+     * fastest.
+     *
+     * @return {@code false} if the values were the last combination, they are then reset to the first one
+     */
+    private boolean nextValues(int[] values, int[] subset) {
+        for (int i = subset.length - 1; i >= 0; i--) {
+            final int parameterIndex = subset[i];
+            values[parameterIndex]++;
+            if (values[parameterIndex] < this.combinationIndex.getParameterSize(parameterIndex)) {
+                return true;
+            }
+            values[parameterIndex] = 0;
+        }
+        return false;
+    }
+
+    private boolean isValid(int[] test) {
+        bind(test);
+        return this.allPairs.isValidCase(this.constrainableCase);
+    }
+
+    /**
+     * Tests constraints against the test where only the given {@link Parameter} changed since it was valid.
+     *
+     * @see AllPairs#isValidCase(ConstrainableCase, int)
+     */
+    private boolean isValid(int[] test, int changedParameterIndex) {
+        bind(test);
+        return this.allPairs.isValidCase(this.constrainableCase, changedParameterIndex);
+    }
+
+    private void bind(int[] test) {
+        for (int parameterIndex = 0; parameterIndex < test.length; parameterIndex++) {
+            if (test[parameterIndex] == DONT_CARE) {
+                this.constrainableCase.unbind(parameterIndex);
+            } else {
+                this.constrainableCase.bind(this.itemMatrix.get(parameterIndex).get(test[parameterIndex]));
+            }
+        }
+    }
+
+    private int[] newTest() {
+        final int[] test = new int[this.itemMatrix.size()];
+        Arrays.fill(test, DONT_CARE);
+        return test;
+    }
+}
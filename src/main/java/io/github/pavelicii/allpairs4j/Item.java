@@ -16,47 +16,43 @@
 
 package io.github.pavelicii.allpairs4j;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.List;
-
-/** Stores single {@link Parameter} value, its name, unified ID and weights needed for AllPairs algorithm. */
+/**
+ * Stores single {@link Parameter} value, its name, unified ID, its position in the {@link Parameter} list
+ * and weights needed for AllPairs algorithm.
+ */
 class Item implements Comparable<Item> {
 
-    private static final Comparator<List<Integer>> INTEGER_LIST_LEXICOGRAPHICAL_COMPARATOR = (o1, o2) -> {
-        final Iterator<Integer> i1 = o1.iterator();
-        final Iterator<Integer> i2 = o2.iterator();
-        int result;
-
-        do {
-            if (!i1.hasNext()) {
-                return !i2.hasNext() ? 0 : -1;
-            }
-            if (!i2.hasNext()) {
-                return 1;
-            }
-            result = i1.next().compareTo(i2.next());
-        } while (result == 0);
-
-        return result;
-    };
+    private static final int[] NO_WEIGHTS = new int[0];
 
-    private final String itemId;
+    /** Dense ID unique across values of all {@link Parameter}s. */
+    private final int itemId;
+    private final int parameterIndex;
+    private final int valueIndex;
     private final Object value;
     private final String name;
-    private List<Integer> weights = new ArrayList<>();
+    /** Weights from the most to the least significant, the lower the better. */
+    private int[] weights = NO_WEIGHTS;
 
-    Item(String itemId, Object value, String name) {
+    Item(int itemId, int parameterIndex, int valueIndex, Object value, String name) {
         this.itemId = itemId;
+        this.parameterIndex = parameterIndex;
+        this.valueIndex = valueIndex;
         this.value = value;
         this.name = name;
     }
 
-    String getItemId() {
+    int getItemId() {
         return this.itemId;
     }
 
+    int getParameterIndex() {
+        return this.parameterIndex;
+    }
+
+    int getValueIndex() {
+        return this.valueIndex;
+    }
+
     Object getValue() {
         return this.value;
     }
@@ -65,16 +61,26 @@ class Item implements Comparable<Item> {
         return this.name;
     }
 
-    List<Integer> getWeights() {
+    int[] getWeights() {
         return this.weights;
     }
 
-    void setWeights(List<Integer> weights) {
+    void setWeights(int[] weights) {
         this.weights = weights;
     }
 
+    /**
+     * Compares weights lexicographically, a shorter weight array being less than the longer one it is a prefix of.
+     */
     @Override
     public int compareTo(Item otherItem) {
-        return INTEGER_LIST_LEXICOGRAPHICAL_COMPARATOR.compare(getWeights(), otherItem.getWeights());
+        final int[] otherWeights = otherItem.weights;
+        final int length = Math.min(this.weights.length, otherWeights.length);
+        for (int w = 0; w < length; w++) {
+            if (this.weights[w] != otherWeights[w]) {
+                return Integer.compare(this.weights[w], otherWeights[w]);
+            }
+        }
+        return Integer.compare(this.weights.length, otherWeights.length);
     }
 }
@@ -22,9 +22,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
-/** Analogue of Python's {@code itertools} with methods needed for AllPairs algorithm. */
+/**
+ * Analogue of Python's {@code itertools} with methods needed for AllPairs algorithm.
+ * <p>
+ * {@link Iterable}s return a new {@link List} for each element, but advance their primitive state in place.
+ * Hot loops working with indexes use {@link Itertools#combinationTable(int, int)} or
+ * {@link CombinationIndex#nextSubset(int[], int)} instead, which allocate nothing per combination.
+ */
 final class Itertools {
 
+    /** Maximum number of indexes in a table returned by {@link Itertools#combinationTable(int, int)}. */
+    static final int MAX_COMBINATION_TABLE_LENGTH = 1 << 18;
+
     private Itertools() {
     }
 
@@ -46,7 +55,7 @@ final class Itertools {
     static <T> Iterable<List<T>> combinations(List<T> elements, int r) {
         return () -> new Iterator<List<T>>() {
             private int currentPosition = 0;
-            private int[] currentCombination = new int[r];
+            private final int[] currentCombination = new int[r];
             private final int totalCombinations = Math.toIntExact(calculateCombinationsNumber(elements.size(), r));
             private boolean hasNext = r <= elements.size() && r >= 1;
 
@@ -65,7 +74,7 @@ final class Itertools {
                         this.currentCombination[i] = i + 1;
                     }
                 } else {
-                    this.currentCombination = generateNextCombination(this.currentCombination, elements.size(), r);
+                    generateNextCombination(this.currentCombination, elements.size(), r);
                 }
                 final List<T> result = new ArrayList<>();
                 for (int i : this.currentCombination) {
@@ -93,15 +102,13 @@ final class Itertools {
         for (int i = 0; i < elementLists.size(); i++) {
             max[i] = elementLists.get(i).size();
         }
-        final int[] initProduct = new int[elementLists.size()];
-        Arrays.fill(initProduct, 1);
         for (List<T> list : elementLists) {
             total *= list.size();
         }
         final long totalProducts = total;
         return () -> new Iterator<List<T>>() {
             private long currentPosition = 0;
-            private int[] currentProduct;
+            private final int[] currentProduct = new int[max.length];
 
             @Override
             public boolean hasNext() {
@@ -114,9 +121,9 @@ final class Itertools {
                     throw new NoSuchElementException("No next product found");
                 }
                 if (this.currentPosition == 0) {
-                    this.currentProduct = initProduct;
+                    Arrays.fill(this.currentProduct, 1);
                 } else {
-                    this.currentProduct = generateNextProduct(this.currentProduct, max);
+                    generateNextProduct(this.currentProduct, max);
                 }
                 final List<T> result = new ArrayList<>();
                 for (int i = 0; i < this.currentProduct.length; i++) {
@@ -128,6 +135,37 @@ final class Itertools {
         };
     }
 
+    /**
+     * Returns all {@code r} length combinations of indexes {@code 0..k-1} in the order of
+     * {@link Itertools#combinations(List, int)}, flattened into one array: combination {@code c} occupies
+     * elements from {@code c * r} to {@code c * r + r - 1}.
+     * <pre>{@code
+     *     combinationTable(4, 2) // --> [0, 1, 0, 2, 0, 3, 1, 2, 1, 3, 2, 3]
+     * }</pre>
+     * Iterating the table is cheaper than advancing a combination when the same combinations are visited many times.
+     *
+     * @param k the number of indexes to create combinations from
+     * @param r the length of each combination, from {@code 1} to {@code k}
+     * @return the table, or {@code null} if it would be longer than {@link Itertools#MAX_COMBINATION_TABLE_LENGTH}
+     */
+    static int[] combinationTable(int k, int r) {
+        final long length = calculateCombinationsNumber(k, r) * r;
+        if (length > MAX_COMBINATION_TABLE_LENGTH) {
+            return null;
+        }
+        final int[] table = new int[(int) length];
+        final int[] combination = new int[r];
+        for (int i = 0; i < r; i++) {
+            combination[i] = i;
+        }
+        int offset = 0;
+        do {
+            System.arraycopy(combination, 0, table, offset, r);
+            offset += r;
+        } while (CombinationIndex.nextSubset(combination, k));
+        return table;
+    }
+
     private static long calculateCombinationsNumber(int n, int r) {
         int nn = n;
         int rr = r;
@@ -145,31 +183,27 @@ final class Itertools {
         return nCr;
     }
 
-    private static int[] generateNextCombination(int[] currentCombination, int n, int r) {
-        final int[] nextCombination = Arrays.copyOf(currentCombination, currentCombination.length);
+    private static void generateNextCombination(int[] combination, int n, int r) {
         int nn = n;
         int rr = r;
-        while (nextCombination[rr - 1] == nn) {
+        while (combination[rr - 1] == nn) {
             nn--;
             rr--;
         }
-        nextCombination[rr - 1]++;
+        combination[rr - 1]++;
         for (int i = rr; i < r; i++) {
-            nextCombination[i] = nextCombination[i - 1] + 1;
+            combination[i] = combination[i - 1] + 1;
         }
-        return nextCombination;
     }
 
-    private static int[] generateNextProduct(int[] currentProduct, int[] max) {
-        final int[] nextProduct = Arrays.copyOf(currentProduct, currentProduct.length);
-        final int n = nextProduct.length - 1;
-        nextProduct[n]++;
+    private static void generateNextProduct(int[] product, int[] max) {
+        final int n = product.length - 1;
+        product[n]++;
         for (int i = n; i > 0; i--) {
-            if (nextProduct[i] > max[i]) {
-                nextProduct[i] = 1;
-                nextProduct[i - 1]++;
+            if (product[i] > max[i]) {
+                product[i] = 1;
+                product[i - 1]++;
             }
         }
-        return nextProduct;
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partial assignments known to have no completion satisfying constraints, learned when the search backtracks.
+ * <p>
+ * Each no-good is a set of {@link Parameter}s with a value for each of them. Any {@link Case} containing these
+ * values violates constraints, whatever the other {@link Parameter}s are, so a prefix matching a no-good is rejected
+ * as soon as the last {@link Parameter} of the no-good is chosen. No-goods only depend on constraints, not on the
+ * covered test combinations, so they hold for the whole generation run.
+ * <p>
+ * Memory is bounded: once the cache is full, the least recently matched no-good is evicted. Forgetting a no-good
+ * only means its subtree may be explored again.
+ * <p>
+ * Matching allocates nothing: the chosen values are copied into a reused probe no-good to look it up.
+ */
+final class NoGoodCache {
+
+    /** Default maximum number of no-goods kept. */
+    static final int MAX_NO_GOOD_COUNT = 1 << 16;
+
+    /** Maximum number of no-goods kept. */
+    private final int maxNoGoodCount;
+    /** No-goods in the order they were last added or matched, the least recent first. */
+    private final Map<NoGood, Boolean> noGoods;
+    /** {@link Parameter} subsets having no-goods, by the last {@link Parameter} of the subset. */
+    private final List<List<BitSet>> subsetsByLastParameter;
+    /** Number of no-goods of each {@link Parameter} subset. */
+    private final Map<BitSet, Integer> subsetCounts;
+    /** No-good filled with the chosen values to look them up. */
+    private final NoGood probe;
+
+    /**
+     * Creates {@link NoGoodCache}.
+     *
+     * @param parametersCount number of {@link Parameter}s
+     * @param maxNoGoodCount maximum number of no-goods kept, the least recently matched ones are evicted beyond it
+     */
+    NoGoodCache(int parametersCount, int maxNoGoodCount) {
+        this.maxNoGoodCount = maxNoGoodCount;
+        this.subsetsByLastParameter = new ArrayList<>();
+        for (int p = 0; p < parametersCount; p++) {
+            this.subsetsByLastParameter.add(new ArrayList<>());
+        }
+        this.subsetCounts = new HashMap<>();
+        this.probe = new NoGood(new int[parametersCount]);
+        this.noGoods = new LinkedHashMap<NoGood, Boolean>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<NoGood, Boolean> eldest) {
+                if (size() <= NoGoodCache.this.maxNoGoodCount) {
+                    return false;
+                }
+                removeSubset(eldest.getKey().parameters);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Remembers that the chosen values of the {@link Parameter}s can't be completed to a valid {@link Case}.
+     *
+     * @param parameters non-empty set of {@link Parameter} indexes
+     * @param chosenItems {@link Item}s chosen so far, by {@link Parameter} index
+     */
+    void add(BitSet parameters, Item[] chosenItems) {
+        final NoGood noGood = new NoGood(new int[parameters.cardinality()]);
+        noGood.fill((BitSet) parameters.clone(), chosenItems);
+        if (this.noGoods.put(noGood, Boolean.TRUE) == null
+                && this.subsetCounts.merge(noGood.parameters, 1, Integer::sum) == 1) {
+            this.subsetsByLastParameter.get(parameters.length() - 1).add(noGood.parameters);
+        }
+    }
+
+    /**
+     * Finds a no-good matched by the chosen values, among the ones ending with the given {@link Parameter}.
+     *
+     * @param lastParameterIndex index of the {@link Parameter} just chosen
+     * @param chosenItems {@link Item}s chosen so far, by {@link Parameter} index
+     * @return {@link Parameter}s of the matched no-good, or {@code null} if no no-good is matched
+     */
+    BitSet findMatch(int lastParameterIndex, Item[] chosenItems) {
+        final List<BitSet> subsets = this.subsetsByLastParameter.get(lastParameterIndex);
+        for (int s = 0; s < subsets.size(); s++) {
+            this.probe.fill(subsets.get(s), chosenItems);
+            if (this.noGoods.get(this.probe) != null) {
+                return subsets.get(s);
+            }
+        }
+        return null;
+    }
+
+    private void removeSubset(BitSet parameters) {
+        if (this.subsetCounts.computeIfPresent(parameters, (subset, count) -> count == 1 ? null : count - 1) == null) {
+            this.subsetsByLastParameter.get(parameters.length() - 1).remove(parameters);
+        }
+    }
+
+    /**
+     * Values of a set of {@link Parameter}s.
+     */
+    private static final class NoGood {
+
+        /** Value indexes in ascending {@link Parameter} order, the first {@code length} of them are used. */
+        private final int[] valueIndexes;
+        private BitSet parameters;
+        private int length;
+        private int hash;
+
+        private NoGood(int[] valueIndexes) {
+            this.valueIndexes = valueIndexes;
+        }
+
+        private void fill(BitSet newParameters, Item[] chosenItems) {
+            this.parameters = newParameters;
+            this.length = 0;
+            int valuesHash = 1;
+            for (int p = newParameters.nextSetBit(0); p >= 0; p = newParameters.nextSetBit(p + 1)) {
+                this.valueIndexes[this.length++] = chosenItems[p].getValueIndex();
+                valuesHash = 31 * valuesHash + chosenItems[p].getValueIndex();
+            }
+            this.hash = 31 * newParameters.hashCode() + valuesHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NoGood)) {
+                return false;
+            }
+            final NoGood noGood = (NoGood) o;
+            if (this.length != noGood.length || !this.parameters.equals(noGood.parameters)) {
+                return false;
+            }
+            for (int i = 0; i < this.length; i++) {
+                if (this.valueIndexes[i] != noGood.valueIndexes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
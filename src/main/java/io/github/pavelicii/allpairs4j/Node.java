@@ -16,27 +16,33 @@
 
 package io.github.pavelicii.allpairs4j;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
-
+/**
+ * Usage of an {@link Item} in covered test combinations: how many times it was used and which {@link Item}s came
+ * before and after it.
+ * <p>
+ * Adjacent {@link Item}s are kept as bitsets over {@link Item} ids, with their sizes counted as bits are set.
+ */
 class Node {
 
-    private final String nodeId;
+    private static final int WORD_SHIFT = 6;
+
+    private final int nodeId;
+    private final long[] inboundItemIds;
+    private final long[] outboundItemIds;
     private int counter;
-    private final Set<String> inboundItemIds;
-    private final Set<String> outboundItemIds;
+    private int inboundItemIdsSize;
+    private int outboundItemIdsSize;
 
-    Node(String nodeId) {
+    Node(int nodeId, int itemCount) {
         this.nodeId = nodeId;
+        this.inboundItemIds = new long[(itemCount + Long.SIZE - 1) >>> WORD_SHIFT];
+        this.outboundItemIds = new long[(itemCount + Long.SIZE - 1) >>> WORD_SHIFT];
         this.counter = 0;
-        this.inboundItemIds = new HashSet<>();
-        this.outboundItemIds = new HashSet<>();
     }
 
     @Override
     public String toString() {
-        return this.nodeId;
+        return String.valueOf(this.nodeId);
     }
 
     void increaseCounter() {
@@ -48,18 +54,35 @@ class Node {
     }
 
     int getInboundItemIdsSize() {
-        return this.inboundItemIds.size();
+        return this.inboundItemIdsSize;
     }
 
     int getOutboundItemIdsSize() {
-        return this.outboundItemIds.size();
+        return this.outboundItemIdsSize;
+    }
+
+    void addInboundItemId(int itemId) {
+        if (set(this.inboundItemIds, itemId)) {
+            this.inboundItemIdsSize++;
+        }
     }
 
-    void addInboundItemIds(Collection<String> itemIds) {
-        this.inboundItemIds.addAll(itemIds);
+    void addOutboundItemId(int itemId) {
+        if (set(this.outboundItemIds, itemId)) {
+            this.outboundItemIdsSize++;
+        }
     }
 
-    void addOutboundItemIds(Collection<String> itemIds) {
-        this.outboundItemIds.addAll(itemIds);
+    /**
+     * Sets the bit of the {@link Item} id.
+     *
+     * @return {@code true} if the bit was not set before
+     */
+    private static boolean set(long[] words, int itemId) {
+        final int wordIndex = itemId >>> WORD_SHIFT;
+        final long word = words[wordIndex];
+        final long bit = 1L << itemId;
+        words[wordIndex] = word | bit;
+        return (word & bit) == 0;
     }
 }
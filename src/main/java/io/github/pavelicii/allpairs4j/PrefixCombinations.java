@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+/**
+ * Test combinations of {@link Item}s chosen for the first {@link Parameter}s of a {@link Case} being built.
+ * <p>
+ * Combinations of size {@code m} (up to {@code n - 1}) are stored by colexicographical rank of their
+ * {@link Parameter} subset, so combinations of the first {@code i} {@link Parameter}s always occupy the first
+ * {@code C(i, m)} ranks. Choosing an {@link Item} for {@link Parameter} {@code i} only rewrites the combinations
+ * ending with it, and the other ones are carried over. Any combination of size {@code m + 1} ending with a candidate
+ * {@link Item} is then indexed from the stored value index in constant time.
+ */
+final class PrefixCombinations {
+
+    private final CombinationIndex combinationIndex;
+    /** Mixed-radix value index of {@code m}-sized combination with the given rank: {@code valueIndexes[m][rank]}. */
+    private final long[][] valueIndexes;
+
+    PrefixCombinations(CombinationIndex combinationIndex, int parametersCount, int n) {
+        this.combinationIndex = combinationIndex;
+        this.valueIndexes = new long[n][];
+        for (int m = 0; m < n; m++) {
+            this.valueIndexes[m] = new long[Math.toIntExact(combinationIndex.binomial(parametersCount, m))];
+        }
+    }
+
+    /**
+     * Records {@link Item} chosen for its {@link Parameter}. All {@link Parameter}s with lower indexes must
+     * already have their {@link Item}s chosen.
+     *
+     * @param item chosen {@link Item}
+     */
+    void choose(Item item) {
+        final int depth = item.getParameterIndex();
+        final int parameterSize = this.combinationIndex.getParameterSize(depth);
+        for (int m = 1; m < this.valueIndexes.length; m++) {
+            final long[] shorter = this.valueIndexes[m - 1];
+            final long[] current = this.valueIndexes[m];
+            final int first = (int) this.combinationIndex.binomial(depth, m);
+            final int count = (int) this.combinationIndex.binomial(depth, m - 1);
+            for (int rank = 0; rank < count; rank++) {
+                current[first + rank] = shorter[rank] * parameterSize + item.getValueIndex();
+            }
+        }
+    }
+
+    /**
+     * Counts uncovered test combinations of the given size made of the candidate {@link Item} and already chosen ones.
+     *
+     * @param candidate {@link Item} of the {@link Parameter} following the chosen ones
+     * @param combinationSize test combination size
+     * @param combinationStorage storage of covered test combinations
+     * @return number of new test combinations the candidate would produce
+     */
+    int countNewCombinations(Item candidate, int combinationSize, CombinationStorage combinationStorage) {
+        final int depth = candidate.getParameterIndex();
+        final int parameterSize = this.combinationIndex.getParameterSize(depth);
+        final long[] shorter = this.valueIndexes[combinationSize - 1];
+        final long firstRank = this.combinationIndex.binomial(depth, combinationSize);
+        final int count = (int) this.combinationIndex.binomial(depth, combinationSize - 1);
+
+        int result = 0;
+        for (int rank = 0; rank < count; rank++) {
+            final long index = this.combinationIndex.index(
+                    combinationSize, firstRank + rank, shorter[rank] * parameterSize + candidate.getValueIndex()
+            );
+            if (!combinationStorage.isCovered(combinationSize, index)) {
+                result++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * Generated {@link Case}s stored in a directory between runs, in a file named after the fingerprint of the input.
+ * <p>
+ * The {@link Fingerprint} is a SHA-256 hash of everything the generated {@link Case}s depend on: version of the
+ * generation algorithms, {@link Parameter} names and values, test combination size, {@link GenerationStrategy},
+ * maximum number of {@link Case}s, seed {@link Case}s and constraints. Values are identified by their class and
+ * {@code toString()}. Constraints are identified by their {@link ConstraintTable}s, that is by their results for
+ * every value combination they read, so a constraint which can't be tabulated leaves the input without a fingerprint
+ * and nothing is cached.
+ * <p>
+ * The file holds a header followed by the value indexes of each {@link Case}, using 1, 2 or 4 bytes per value
+ * depending on the largest {@link Parameter}. It is read through a memory-mapped {@link FileChannel}, so each
+ * {@link Case} is only decoded when it is fetched. Files which can't be read or don't match the input are ignored,
+ * and failures to write are ignored too, as the cache only saves time.
+ */
+final class SuiteCache {
+
+    private static final int MAGIC = 0x41503453;
+    private static final int VERSION = 1;
+    private static final int FINGERPRINT_LENGTH = 32;
+    private static final int HEADER_LENGTH = 6 * Integer.BYTES + FINGERPRINT_LENGTH + 2 * Long.BYTES;
+    private static final String FILE_EXTENSION = ".suite";
+
+    private final List<Parameter> parameters;
+    /** {@link Parameter} indexes mapped to {@link Parameter} names, shared by the read {@link Case}s. */
+    private final Map<String, Integer> parameterIndexes;
+    private final byte[] fingerprint;
+    private final Path file;
+    /** Number of bytes per value index. */
+    private final int valueLength;
+
+    /**
+     * Creates cache of one input.
+     *
+     * @param directory directory to keep files in
+     * @param fingerprint {@link Fingerprint#digest()} of the input
+     * @param parameters {@link Parameter}s of the input
+     * @param parameterIndexes {@link Parameter} indexes mapped to {@link Parameter} names
+     */
+    SuiteCache(Path directory, byte[] fingerprint, List<Parameter> parameters, Map<String, Integer> parameterIndexes) {
+        this.parameters = parameters;
+        this.parameterIndexes = parameterIndexes;
+        this.fingerprint = fingerprint;
+        final StringBuilder fileName = new StringBuilder();
+        for (byte b : fingerprint) {
+            fileName.append(String.format("%02x", b));
+        }
+        this.file = directory.resolve(fileName.append(FILE_EXTENSION).toString());
+        int maxParameterSize = 0;
+        for (Parameter parameter : parameters) {
+            maxParameterSize = Math.max(maxParameterSize, parameter.size());
+        }
+        if (maxParameterSize <= 1 << Byte.SIZE) {
+            this.valueLength = Byte.BYTES;
+        } else if (maxParameterSize <= 1 << Short.SIZE) {
+            this.valueLength = Short.BYTES;
+        } else {
+            this.valueLength = Integer.BYTES;
+        }
+    }
+
+    Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Maps the file of the input.
+     *
+     * @return {@link Case}s read from the file, or {@code null} if there is no valid file
+     */
+    CachedCases read() {
+        if (!Files.isRegularFile(this.file)) {
+            return null;
+        }
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            return null;
+        }
+        if (buffer.capacity() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+        final byte[] storedFingerprint = new byte[FINGERPRINT_LENGTH];
+        buffer.get(storedFingerprint);
+        final int stopReason = buffer.getInt();
+        final int parameterCount = buffer.getInt();
+        final int caseCount = buffer.getInt();
+        final int storedValueLength = buffer.getInt();
+        final long coveredTestCombinationsCount = buffer.getLong();
+        final long expectedTestCombinationsCount = buffer.getLong();
+        if (!MessageDigest.isEqual(storedFingerprint, this.fingerprint)
+                || stopReason < 0 || stopReason >= CoverageReport.StopReason.values().length
+                || parameterCount != this.parameters.size()
+                || storedValueLength != this.valueLength
+                || caseCount < 0
+                || buffer.capacity() != HEADER_LENGTH + (long) caseCount * parameterCount * this.valueLength) {
+            return null;
+        }
+        return new CachedCases(buffer, caseCount, CoverageReport.StopReason.values()[stopReason],
+                coveredTestCombinationsCount, expectedTestCombinationsCount);
+    }
+
+    /**
+     * Writes the {@link Case}s to the file of the input, replacing it at once so that readers never see a
+     * partial file.
+     *
+     * @param cases {@link Case}s generated for the input
+     * @param coverageReport coverage reached by the {@link Case}s
+     */
+    void write(List<Case> cases, CoverageReport coverageReport) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(this.file.getParent());
+            temporaryFile = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporaryFile)))) {
+                writeHeader(output, cases.size(), coverageReport);
+                for (Case c : cases) {
+                    for (int p = 0; p < this.parameters.size(); p++) {
+                        writeValueIndex(output, c.getValueIndex(p));
+                    }
+                }
+            }
+            try {
+                Files.move(temporaryFile, this.file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // Cases are still returned, they are only generated again next time
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private void writeHeader(DataOutputStream output, int caseCount, CoverageReport coverageReport)
+            throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.write(this.fingerprint);
+        output.writeInt(coverageReport.getStopReason().ordinal());
+        output.writeInt(this.parameters.size());
+        output.writeInt(caseCount);
+        output.writeInt(this.valueLength);
+        output.writeLong(coverageReport.getCoveredTestCombinationsCount());
+        output.writeLong(coverageReport.getExpectedTestCombinationsCount());
+    }
+
+    private void writeValueIndex(DataOutputStream output, int valueIndex) throws IOException {
+        if (this.valueLength == Byte.BYTES) {
+            output.writeByte(valueIndex);
+        } else if (this.valueLength == Short.BYTES) {
+            output.writeShort(valueIndex);
+        } else {
+            output.writeInt(valueIndex);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // Leftover temporary file doesn't affect reading the cache
+            }
+        }
+    }
+
+    /**
+     * SHA-256 hash of an input, fed with everything the generated {@link Case}s depend on. It starts with the file
+     * format version and {@link CaseGenerator#OUTPUT_VERSION}, so that files of earlier versions are never read.
+     */
+    static final class Fingerprint {
+
+        private final MessageDigest digest;
+        private final ByteBuffer buffer;
+
+        Fingerprint() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+            }
+            this.buffer = ByteBuffer.allocate(Long.BYTES);
+            addInt(VERSION);
+            addInt(CaseGenerator.OUTPUT_VERSION);
+        }
+
+        Fingerprint addInt(int i) {
+            this.buffer.clear();
+            this.digest.update(this.buffer.putInt(i).array(), 0, Integer.BYTES);
+            return this;
+        }
+
+        Fingerprint addString(String s) {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            addInt(bytes.length);
+            this.digest.update(bytes);
+            return this;
+        }
+
+        Fingerprint addInts(int[] ints) {
+            addInt(ints.length);
+            for (int i : ints) {
+                addInt(i);
+            }
+            return this;
+        }
+
+        /**
+         * Adds names of the {@link Parameter}s and their values, identified by their class and {@code toString()}.
+         */
+        Fingerprint addParameters(List<Parameter> parameters) {
+            addInt(parameters.size());
+            for (Parameter parameter : parameters) {
+                addString(parameter.getName());
+                addInt(parameter.size());
+                for (Object value : parameter) {
+                    addString(value == null ? "" : value.getClass().getName());
+                    addString(String.valueOf(value));
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Adds a constraint, identified by its results for every value combination it reads.
+         */
+        Fingerprint addConstraintTable(ConstraintTable constraintTable) {
+            addInts(constraintTable.getScope());
+            addInts(constraintTable.getRadixes());
+            addInt(constraintTable.getMetStates().length);
+            for (long word : constraintTable.getMetStates()) {
+                this.buffer.clear();
+                this.digest.update(this.buffer.putLong(word).array(), 0, Long.BYTES);
+            }
+            return this;
+        }
+
+        byte[] digest() {
+            return this.digest.digest();
+        }
+    }
+
+    /**
+     * Read-only {@link List} of {@link Case}s decoded from the mapped file on each access.
+     */
+    final class CachedCases extends AbstractList<Case> implements RandomAccess {
+
+        private final ByteBuffer buffer;
+        private final int caseCount;
+        private final CoverageReport.StopReason stopReason;
+        private final long coveredTestCombinationsCount;
+        private final long expectedTestCombinationsCount;
+
+        private CachedCases(ByteBuffer buffer, int caseCount, CoverageReport.StopReason stopReason,
+                            long coveredTestCombinationsCount, long expectedTestCombinationsCount) {
+            this.buffer = buffer;
+            this.caseCount = caseCount;
+            this.stopReason = stopReason;
+            this.coveredTestCombinationsCount = coveredTestCombinationsCount;
+            this.expectedTestCombinationsCount = expectedTestCombinationsCount;
+        }
+
+        /**
+         * Returns coverage stored along with the {@link Case}s.
+         *
+         * @param missingTestCombinationsSupplier finds test combinations not covered by the {@link Case}s
+         * @return {@link CoverageReport}
+         */
+        CoverageReport getCoverageReport(Supplier<List<Map<String, Object>>> missingTestCombinationsSupplier) {
+            return new CoverageReport(this.stopReason, this.caseCount, this.coveredTestCombinationsCount,
+                    this.expectedTestCombinationsCount, missingTestCombinationsSupplier);
+        }
+
+        @Override
+        public Case get(int index) {
+            if (index < 0 || index >= this.caseCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.caseCount);
+            }
+            final int[] valueIndexes = new int[SuiteCache.this.parameters.size()];
+            int offset = HEADER_LENGTH + index * valueIndexes.length * SuiteCache.this.valueLength;
+            for (int p = 0; p < valueIndexes.length; p++) {
+                valueIndexes[p] = readValueIndex(offset);
+                offset += SuiteCache.this.valueLength;
+            }
+            return new Case(SuiteCache.this.parameters, SuiteCache.this.parameterIndexes, valueIndexes);
+        }
+
+        @Override
+        public int size() {
+            return this.caseCount;
+        }
+
+        private int readValueIndex(int offset) {
+            if (SuiteCache.this.valueLength == Byte.BYTES) {
+                return Byte.toUnsignedInt(this.buffer.get(offset));
+            } else if (SuiteCache.this.valueLength == Short.BYTES) {
+                return Short.toUnsignedInt(this.buffer.getShort(offset));
+            }
+            return this.buffer.getInt(offset);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Publishes each {@link GenerationEvent} as JDK Flight Recorder event. Disabled unless a recording with the event
+ * enabled is running, so that {@link CaseGenerator} doesn't create {@link GenerationEvent}s for it.
+ * <p>
+ * Loaded by {@link CaseGenerator} only on Java 11 or later, where it is available as a multi-release class.
+ */
+final class FlightRecorderGenerationListener implements CaseGenerator.SwitchableGenerationListener {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(CaseGeneratedEvent.class);
+
+    @Override
+    public boolean isEnabled() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    @Override
+    public void onCaseGenerated(GenerationEvent event) {
+        final CaseGeneratedEvent flightRecorderEvent = new CaseGeneratedEvent();
+        if (!flightRecorderEvent.isEnabled()) {
+            return;
+        }
+        flightRecorderEvent.caseNumber = event.getCaseNumber();
+        flightRecorderEvent.newTestCombinations = event.getNewTestCombinationsCount();
+        flightRecorderEvent.coveredTestCombinations = event.getCoveredTestCombinationsCount();
+        flightRecorderEvent.expectedTestCombinations = event.getExpectedTestCombinationsCount();
+        flightRecorderEvent.backtracks = event.getBacktrackCount();
+        flightRecorderEvent.constraintEvaluations = event.getConstraintEvaluationCount();
+        flightRecorderEvent.elapsed = event.getElapsedNanos();
+        flightRecorderEvent.commit();
+    }
+
+    /**
+     * JDK Flight Recorder event of one generated {@link Case}. Fields are read by JDK Flight Recorder.
+     */
+    @Name("io.github.pavelicii.allpairs4j.CaseGenerated")
+    @Label("Case Generated")
+    @Category("AllPairs4J")
+    @Description("Test case generated by AllPairs4J with the work spent on finding it")
+    static final class CaseGeneratedEvent extends Event {
+
+        @Label("Case Number")
+        private int caseNumber;
+
+        @Label("New Test Combinations")
+        private long newTestCombinations;
+
+        @Label("Covered Test Combinations")
+        private long coveredTestCombinations;
+
+        @Label("Expected Test Combinations")
+        private long expectedTestCombinations;
+
+        @Label("Backtracks")
+        private long backtracks;
+
+        @Label("Constraint Evaluations")
+        private long constraintEvaluations;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        private long elapsed;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConstraintScopesTest {
+
+    private static final List<Parameter> PARAMETERS = Arrays.asList(
+            new Parameter("A", "A-1", "A-2"),
+            new Parameter("B", "B-1", "B-2", "B-3"),
+            new Parameter("C", "C-1", "C-2"));
+
+    @Test
+    void shouldTestConstraintsByDiagramAsTheyTestThemselvesForEveryPartialCase() {
+        final List<Predicate<ConstrainableCase>> constraints = Arrays.asList(
+                c -> c.get("A").equals("A-1") && !c.get("C").equals("C-2"),
+                c -> c.get("A").equals("A-2") || c.isBound("B") && c.get("B").equals("B-3"),
+                c -> c.isBound("C") && !c.isBound("B"),
+                c -> c.get("Unknown").equals("A-1"),
+                c -> false);
+        final List<List<Item>> itemMatrix = AllPairs.createItemMatrix(PARAMETERS);
+        final Map<String, Integer> parameterIndexes = new HashMap<>();
+        for (int p = 0; p < PARAMETERS.size(); p++) {
+            parameterIndexes.put(PARAMETERS.get(p).getName(), p);
+        }
+        final ConstraintScopes constraintScopes = new ConstraintScopes(constraints, itemMatrix, parameterIndexes);
+        final ConstrainableCase constrainableCase = new ConstrainableCase(parameterIndexes);
+
+        // Each Parameter is bound to one of its values or unbound, the last state
+        final int[] states = new int[PARAMETERS.size()];
+        int checkedStates = 0;
+        do {
+            for (int p = 0; p < states.length; p++) {
+                if (states[p] < itemMatrix.get(p).size()) {
+                    constrainableCase.bind(itemMatrix.get(p).get(states[p]));
+                } else {
+                    constrainableCase.unbind(p);
+                }
+            }
+            for (int c = 0; c < constraints.size(); c++) {
+                assertThat(constraintScopes.hasDiagram(c)).isTrue();
+                assertThat(constraintScopes.isMet(c, constrainableCase))
+                        .as("constraint %d for %s", c, Arrays.toString(states))
+                        .isEqualTo(ConstraintScopes.meetsConstraint(constraints.get(c), constrainableCase));
+            }
+            checkedStates++;
+        } while (nextState(states, itemMatrix));
+
+        assertThat(checkedStates).isEqualTo(3 * 4 * 3);
+    }
+
+    private static boolean nextState(int[] states, List<List<Item>> itemMatrix) {
+        for (int p = states.length - 1; p >= 0; p--) {
+            if (++states[p] <= itemMatrix.get(p).size()) {
+                return true;
+            }
+            states[p] = 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForwardCheckerTest {
+
+    private final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+            .withParameters(Arrays.asList(
+                    new Parameter("A", "A-1", "A-2"),
+                    new Parameter("B", "B-1", "B-2"),
+                    new Parameter("C", "C-1", "C-2", "C-3")))
+            .withConstraints(Arrays.asList(
+                    c -> c.get("A").equals("A-1") && c.get("C").equals("C-1"),
+                    c -> c.get("B").equals("B-2") && !c.get("C").equals("C-1")))
+            .build();
+    private final List<List<Item>> itemMatrix = AllPairs.createItemMatrix(this.allPairs.getParameters());
+    private final ConstrainableCase constrainableCase = this.allPairs.newConstrainableCase();
+    private final ForwardChecker forwardChecker =
+            new ForwardChecker(this.allPairs, this.itemMatrix, this.constrainableCase);
+
+    @Test
+    void shouldPruneValuesViolatingConstraintsAndRestoreThemOnRetract() {
+        assertThat(this.forwardChecker.start()).isTrue();
+        assertThat(choose(0, 0)).isTrue();
+
+        assertThat(this.forwardChecker.isPruned(item(2, 0))).isTrue();
+        assertThat(this.forwardChecker.isPruned(item(2, 1))).isFalse();
+        final BitSet reason = new BitSet();
+        this.forwardChecker.addPruningReason(item(2, 0), reason);
+        assertThat(reason).isEqualTo(BitSet.valueOf(new long[] {0b1}));
+
+        this.constrainableCase.unbind(0);
+        this.forwardChecker.retract(0);
+        assertThat(this.forwardChecker.isPruned(item(2, 0))).isFalse();
+    }
+
+    @Test
+    void shouldRejectValueLeavingLaterParameterWithNoValues() {
+        assertThat(this.forwardChecker.start()).isTrue();
+        assertThat(choose(0, 0)).isTrue();
+        assertThat(choose(1, 1)).isFalse();
+
+        final BitSet reason = new BitSet();
+        this.forwardChecker.addWipeOutReason(reason);
+        assertThat(reason).isEqualTo(BitSet.valueOf(new long[] {0b11}));
+
+        this.forwardChecker.retract(1);
+        assertThat(this.forwardChecker.isPruned(item(2, 0))).isTrue();
+        assertThat(this.forwardChecker.isPruned(item(2, 1))).isFalse();
+        assertThat(this.forwardChecker.isPruned(item(2, 2))).isFalse();
+    }
+
+    /**
+     * Chooses the value of the {@link Parameter} the way the search does and prunes values of later ones.
+     *
+     * @return {@code false} if some later {@link Parameter} has no values left
+     */
+    private boolean choose(int parameterIndex, int valueIndex) {
+        this.forwardChecker.enter(parameterIndex);
+        this.constrainableCase.bind(item(parameterIndex, valueIndex));
+        this.forwardChecker.retract(parameterIndex);
+        return this.forwardChecker.prune(parameterIndex);
+    }
+
+    private Item item(int parameterIndex, int valueIndex) {
+        return this.itemMatrix.get(parameterIndex).get(valueIndex);
+    }
+}
@@ -19,10 +19,30 @@ package io.github.pavelicii.allpairs4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class GenerationTest {
 
@@ -60,6 +80,21 @@ class GenerationTest {
         assertAllTestCombinationsAreGenerated(allPairs);
     }
 
+    @Test
+    void shouldGenerateFilteredPairwiseCasesWithConstraintsCheckingBoundParameters() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withConstraints(Arrays.asList(
+                        c -> c.isBound("Browser") && c.isBound("OS")
+                                && c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                        c -> c.isBound("Browser") && c.isBound("OS")
+                                && c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows")))
+                .build();
+
+        assertThat(allPairs.getGeneratedCases()).containsExactlyElementsOf(TestData.EXPECTED_FILTERED_PAIRWISE_CASES);
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
     @Test
     void shouldGenerateFilteredTriplewiseCasesWithConstraints() {
         final AllPairs allPairs = new AllPairs.AllPairsBuilder()
@@ -75,6 +110,22 @@ class GenerationTest {
         assertAllTestCombinationsAreGenerated(allPairs);
     }
 
+    @Test
+    void shouldGenerateFilteredTriplewiseCasesWithTabulatedConstraints() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withConstraints(Arrays.asList(
+                        c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                        c -> c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows"),
+                        c -> c.get("OS").equals("Linux") && c.get("Drive").equals("SSD") && (int) c.get("RAM") < 8000))
+                .withTestCombinationSize(3)
+                .tabulateConstraints()
+                .build();
+
+        assertThat(allPairs.getGeneratedCases()).containsExactlyElementsOf(TestData.EXPECTED_FILTERED_TRIPLEWISE_CASES);
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
     @Test
     void shouldGenerateZeroCasesWithConstraintsExcludingAllSingleParameterValues() {
         final AllPairs allPairs = new AllPairs.AllPairsBuilder()
@@ -132,6 +183,384 @@ class GenerationTest {
         assertAllTestCombinationsAreGenerated(allPairs);
     }
 
+    @Test
+    void shouldGenerateSameCasesLazilyWhenIterating() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withConstraints(Arrays.asList(
+                        c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                        c -> c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows")))
+                .generateCasesLazily()
+                .build();
+
+        assertThat(allPairs).containsExactlyElementsOf(TestData.EXPECTED_FILTERED_PAIRWISE_CASES);
+        assertThat(allPairs.stream().collect(Collectors.toList()))
+                .containsExactlyElementsOf(TestData.EXPECTED_FILTERED_PAIRWISE_CASES);
+        assertThat(allPairs.getGeneratedCases()).containsExactlyElementsOf(TestData.EXPECTED_FILTERED_PAIRWISE_CASES);
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void shouldGenerateFirstCaseLazilyForLargeInputAndNotExceedTimeout() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS_LARGE)
+                .withTestCombinationSize(3)
+                .generateCasesLazily()
+                .build();
+
+        assertThat(allPairs.stream().limit(3).count()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldFindSameTestCombinationsInParallel() {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            final AllPairs.AllPairsBuilder builder = new AllPairs.AllPairsBuilder()
+                    .withParameters(TestData.PARAMETERS_LARGE)
+                    .withConstraint(c -> c.get("1").equals("1-1") && c.get("2").equals("2-1"))
+                    .withConstraint(c -> c.get("3").equals("3-1") && c.get("4").equals("4-1"));
+            final AllPairs sequential = builder.build();
+            final AllPairs parallel = builder.withForkJoinPool(forkJoinPool).build();
+
+            assertThat(parallel.getExpectedUniqueTestCombinations())
+                    .containsExactlyElementsOf(sequential.getExpectedUniqueTestCombinations());
+            assertThat(parallel.getGeneratedCases()).containsExactlyElementsOf(sequential.getGeneratedCases());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldGenerateSameCasesWhenScoringCandidatesConcurrently() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final AllPairs.AllPairsBuilder builder = new AllPairs.AllPairsBuilder()
+                    .withParameters(TestData.PARAMETERS)
+                    .withParameter(new Parameter("Screen", IntStream.range(0, 40).boxed().collect(Collectors.toList())))
+                    .withConstraint(c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"))
+                    .withConstraint(c -> c.get("Drive").equals("HDD") && (int) c.get("Screen") > 30);
+            final AllPairs sequential = builder.build();
+            final AllPairs concurrent = builder.withCandidateScoringExecutor(executor).build();
+
+            assertThat(concurrent.getGeneratedCases()).containsExactlyElementsOf(sequential.getGeneratedCases());
+            assertAllTestCombinationsAreGenerated(concurrent);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldGenerateFilteredTriplewiseCasesWithConstraintsUsingIpog() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withConstraints(Arrays.asList(
+                        c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                        c -> c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows"),
+                        c -> c.get("OS").equals("Linux") && c.get("Drive").equals("SSD") && (int) c.get("RAM") < 8000))
+                .withTestCombinationSize(3)
+                .withGenerationStrategy(GenerationStrategy.IPOG)
+                .build();
+
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void shouldGenerateAllPairwiseCasesForLargeInputWithConstraintsUsingIpogAndNotExceedTimeout() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS_LARGE)
+                .withConstraint(c -> c.get("1").equals("1-1") && c.get("2").equals("2-1"))
+                .withConstraint(c -> c.get("3").equals("3-1") && c.get("4").equals("4-1"))
+                .withConstraint(c -> c.get("2").equals("2-1") && c.get("3").equals("3-1") && c.get("20").equals("20-1"))
+                .withGenerationStrategy(GenerationStrategy.IPOG)
+                .build();
+
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
+    @Test
+    void shouldBackjumpOverParametersNotCausingDeadEnd() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.DEAD_END_PARAMETERS)
+                .withConstraints(TestData.DEAD_END_CONSTRAINTS)
+                .build();
+
+        assertThat(findCasesViolatingDeadEndConstraints(allPairs.getGeneratedCases())).isEmpty();
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
+    @Test
+    void shouldGenerateAllTestCombinationsWhenNoGoodsAreEvicted() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.DEAD_END_PARAMETERS)
+                .withConstraints(TestData.DEAD_END_CONSTRAINTS)
+                .build();
+        final List<Case> cases = new ArrayList<>();
+        new BacktrackingCaseGenerator(allPairs, 1).forEachRemaining(cases::add);
+
+        assertThat(findCasesViolatingDeadEndConstraints(cases)).isEmpty();
+        assertThat(allPairs.verifyCoverage(cases).isComplete()).isTrue();
+    }
+
+    @Test
+    void shouldPruneValuesByForwardCheckingOnlyIfSpecified() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.WIPE_OUT_PARAMETERS)
+                .withConstraints(TestData.WIPE_OUT_CONSTRAINTS)
+                .build();
+        final AllPairs allPairsWithForwardChecking = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.WIPE_OUT_PARAMETERS)
+                .withConstraints(TestData.WIPE_OUT_CONSTRAINTS)
+                .pruneValuesByForwardChecking()
+                .build();
+
+        // E is not tried after D-1 is rejected by forward checking, so later Cases break ties in another order
+        assertThat(allPairs.getGeneratedCases()).hasSize(47);
+        assertThat(allPairsWithForwardChecking.getGeneratedCases()).hasSize(52);
+        assertAllTestCombinationsAreGenerated(allPairs);
+        assertAllTestCombinationsAreGenerated(allPairsWithForwardChecking);
+    }
+
+    @Test
+    void shouldExcludeAndReportInfeasibleTestCombinations() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withConstraints(Arrays.asList(
+                        c -> c.get("OS").equals("Linux") && !c.get("Browser").equals("Chrome"),
+                        c -> c.get("Browser").equals("Chrome") && c.get("Drive").equals("HDD")))
+                .build();
+        final Map<String, Object> infeasibleTestCombination = new LinkedHashMap<>();
+        infeasibleTestCombination.put("OS", "Linux");
+        infeasibleTestCombination.put("Drive", "HDD");
+
+        assertThat(allPairs.getInfeasibleTestCombinations()).containsExactly(infeasibleTestCombination);
+        assertThat(allPairs.getExpectedUniqueTestCombinations()).doesNotContain(infeasibleTestCombination);
+        assertAllTestCombinationsAreGenerated(allPairs);
+    }
+
+    @Test
+    void shouldNotifyGenerationListenerAboutEachCase() {
+        final List<GenerationEvent> events = new ArrayList<>();
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withConstraints(Arrays.asList(
+                        c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                        c -> c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows")))
+                .withGenerationListener(events::add)
+                .build();
+
+        assertThat(events.stream().map(GenerationEvent::getCase).collect(Collectors.toList()))
+                .containsExactlyElementsOf(allPairs.getGeneratedCases());
+        assertThat(events.stream().mapToLong(GenerationEvent::getNewTestCombinationsCount).sum())
+                .isEqualTo(allPairs.getExpectedUniqueTestCombinationsCount());
+        assertThat(events.get(events.size() - 1).getCoveredTestCombinationsCount())
+                .isEqualTo(events.get(0).getExpectedTestCombinationsCount());
+    }
+
+    @Test
+    void shouldStopAtMaxCaseCountAndReportPartialCoverage() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withMaxCaseCount(5)
+                .build();
+        final CoverageReport coverageReport = allPairs.getCoverageReport();
+
+        assertThat(allPairs.getGeneratedCases())
+                .containsExactlyElementsOf(TestData.EXPECTED_PAIRWISE_CASES.subList(0, 5));
+        assertThat(coverageReport.getStopReason()).isEqualTo(CoverageReport.StopReason.CASE_LIMIT_REACHED);
+        assertThat(coverageReport.getCaseCount()).isEqualTo(5);
+        assertThat(allPairs.getGeneratedUniqueTestCombinations())
+                .hasSize((int) coverageReport.getCoveredTestCombinationsCount());
+        assertThat(coverageReport.getExpectedTestCombinationsCount())
+                .isEqualTo(allPairs.getExpectedUniqueTestCombinationsCount());
+        assertThat(coverageReport.isComplete()).isFalse();
+        assertThat(coverageReport.getMissingTestCombinations()).hasSize((int) (
+                coverageReport.getExpectedTestCombinationsCount() - coverageReport.getCoveredTestCombinationsCount()));
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void shouldStopAtTimeLimitAndReportPartialCoverageForLargeInput() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS_LARGE)
+                .withTestCombinationSize(3)
+                .withTimeLimit(Duration.ofMillis(500))
+                .build();
+        final CoverageReport coverageReport = allPairs.getCoverageReport();
+
+        assertThat(coverageReport.getStopReason()).isEqualTo(CoverageReport.StopReason.TIME_LIMIT_REACHED);
+        assertThat(coverageReport.getCaseCount()).isEqualTo(allPairs.getGeneratedCases().size());
+        assertThat(allPairs.getGeneratedUniqueTestCombinations())
+                .hasSize((int) coverageReport.getCoveredTestCombinationsCount());
+        assertThat(coverageReport.isComplete()).isFalse();
+    }
+
+    @Test
+    void shouldReportCompleteCoverageWhenLimitsAreNotReached() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withTimeLimit(Duration.ofMinutes(1))
+                .withMaxCaseCount(TestData.EXPECTED_PAIRWISE_CASES.size())
+                .build();
+
+        assertThat(allPairs.getGeneratedCases()).containsExactlyElementsOf(TestData.EXPECTED_PAIRWISE_CASES);
+        assertThat(allPairs.getCoverageReport().getStopReason())
+                .isEqualTo(CoverageReport.StopReason.ALL_CASES_GENERATED);
+        assertThat(allPairs.getCoverageReport().isComplete()).isTrue();
+    }
+
+    @Test
+    void shouldVerifyCoverageOfGivenCases() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .generateCasesLazily()
+                .build();
+
+        assertThat(allPairs.verifyCoverage(TestData.EXPECTED_PAIRWISE_CASES).isComplete()).isTrue();
+        assertThat(allPairs.verifyCoverage(TestData.EXPECTED_PAIRWISE_CASES).getMissingTestCombinations()).isEmpty();
+
+        final CoverageReport coverageReport = allPairs.verifyCoverage(Arrays.asList(
+                new Case("Browser", "Chrome", "OS", "Windows", "RAM", 2048, "Drive", "HDD"),
+                new Case("Browser", "Opera", "OS", "Linux", "RAM", 4096, "Monitor", "4K")));
+
+        assertThat(coverageReport.getStopReason()).isNull();
+        assertThat(coverageReport.getCaseCount()).isEqualTo(2);
+        assertThat(coverageReport.getCoveredTestCombinationsCount()).isEqualTo(7L);
+        assertThat(coverageReport.getExpectedTestCombinationsCount()).isEqualTo(53L);
+        assertThat(coverageReport.getMissingTestCombinations())
+                .hasSize(46)
+                .contains(new Case("Browser", "Safari", "OS", "Linux"))
+                .doesNotContain(new Case("Browser", "Chrome", "OS", "Windows"), new Case("OS", "Linux", "RAM", 4096));
+    }
+
+    @Test
+    void shouldGenerateReadOnlyCasesWithValueIndexes() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .build();
+        final Case firstCase = allPairs.getGeneratedCases().get(0);
+
+        assertThat(firstCase).isEqualTo(TestData.EXPECTED_PAIRWISE_CASES.get(0));
+        assertThat(firstCase.toString()).isEqualTo(TestData.EXPECTED_PAIRWISE_CASES.get(0).toString());
+        assertThat(allPairs.getGeneratedCases().get(1).getValueIndex(2)).isEqualTo(1);
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> firstCase.put("OS", "Linux"));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> TestData.EXPECTED_PAIRWISE_CASES.get(0).getValueIndex(0));
+    }
+
+    @Test
+    void shouldKeepGeneratedCasesReadOnlyAndSerializable() throws IOException, ClassNotFoundException {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .build();
+        final Case generatedCase = allPairs.getGeneratedCases().get(1);
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> generatedCase.remove("OS"));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> generatedCase.putAll(new Case("OS", "Linux")));
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(generatedCase::clear);
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> generatedCase.entrySet().iterator().next().setValue("Linux"));
+        assertThat(generatedCase).isEqualTo(TestData.EXPECTED_PAIRWISE_CASES.get(1));
+
+        final Case copy = new Case(generatedCase);
+        copy.put("OS", "Linux");
+        assertThat(copy.get("OS")).isEqualTo("Linux");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(generatedCase);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Case deserializedCase = (Case) in.readObject();
+            assertThat(deserializedCase).isEqualTo(generatedCase);
+            assertThat(deserializedCase.getValueIndex(2)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldReadCasesFromSuiteCacheWhenInputIsTheSame() throws IOException {
+        final Path directory = Files.createTempDirectory("allpairs4j");
+        final List<Predicate<ConstrainableCase>> constraints = Arrays.asList(
+                c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                c -> c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows"));
+        try {
+            final AllPairs generated = new AllPairs.AllPairsBuilder()
+                    .withParameters(TestData.PARAMETERS)
+                    .withConstraints(constraints)
+                    .withSuiteCache(directory)
+                    .build();
+            final List<GenerationEvent> events = new ArrayList<>();
+            final AllPairs read = new AllPairs.AllPairsBuilder()
+                    .withParameters(TestData.PARAMETERS)
+                    .withConstraints(constraints)
+                    .withSuiteCache(directory)
+                    .withGenerationListener(events::add)
+                    .build();
+            final AllPairs generatedForOtherInput = new AllPairs.AllPairsBuilder()
+                    .withParameters(TestData.PARAMETERS)
+                    .withSuiteCache(directory)
+                    .build();
+
+            assertThat(generated.getGeneratedCases())
+                    .containsExactlyElementsOf(TestData.EXPECTED_FILTERED_PAIRWISE_CASES);
+            assertThat(read.getGeneratedCases())
+                    .containsExactlyElementsOf(TestData.EXPECTED_FILTERED_PAIRWISE_CASES);
+            assertThat(read.getGeneratedCases().get(3).getValueIndex(1))
+                    .isEqualTo(generated.getGeneratedCases().get(3).getValueIndex(1));
+            assertThat(read.getCoverageReport().toString()).isEqualTo(generated.getCoverageReport().toString());
+            assertThat(read.verifyCoverage(read.getGeneratedCases()).isComplete()).isTrue();
+            assertThat(events).isEmpty();
+            assertThat(generatedForOtherInput.getGeneratedCases())
+                    .containsExactlyElementsOf(TestData.EXPECTED_PAIRWISE_CASES);
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.count()).isEqualTo(2L);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void shouldStartWithSeedCasesAndGenerateOnlyMissingCases() {
+        for (GenerationStrategy generationStrategy : GenerationStrategy.values()) {
+            final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                    .withParameters(TestData.PARAMETERS)
+                    .withConstraints(Arrays.asList(
+                            c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"),
+                            c -> c.get("Browser").equals("Edge") && !c.get("OS").equals("Windows")))
+                    .withSeedCase(new Case("Browser", "Chrome", "OS", "Linux", "RAM", 2048, "Drive", "SSD"))
+                    .withSeedCase(new Case("Browser", "Safari"))
+                    .withGenerationStrategy(generationStrategy)
+                    .build();
+            final List<Case> cases = allPairs.getGeneratedCases();
+
+            assertThat(cases.get(0)).as(generationStrategy.name())
+                    .isEqualTo(new Case("Browser", "Chrome", "OS", "Linux", "RAM", 2048, "Drive", "SSD"));
+            assertThat(cases.get(1).get("Browser")).as(generationStrategy.name()).isEqualTo("Safari");
+            assertThat(cases.get(1).get("OS")).as(generationStrategy.name()).isEqualTo("macOS");
+            assertAllTestCombinationsAreGenerated(allPairs);
+        }
+    }
+
+    @Test
+    void shouldGenerateNoMoreCasesWhenSeedCasesCoverAllTestCombinations() {
+        final AllPairs allPairs = new AllPairs.AllPairsBuilder()
+                .withParameters(TestData.PARAMETERS)
+                .withSeedCases(TestData.EXPECTED_PAIRWISE_CASES)
+                .build();
+
+        assertThat(allPairs.getGeneratedCases()).containsExactlyElementsOf(TestData.EXPECTED_PAIRWISE_CASES);
+        assertThat(allPairs.getCoverageReport().isComplete()).isTrue();
+    }
+
     /**
      * Asserts all {@code n}-wise test combinations are generated.
      *
@@ -142,4 +571,15 @@ class GenerationTest {
                 .as(allPairs.getTestCombinationSize() + "-wise test combinations")
                 .containsExactlyInAnyOrderElementsOf(allPairs.getExpectedUniqueTestCombinations());
     }
+
+    /**
+     * Finds {@link Case}s violating {@link TestData#DEAD_END_CONSTRAINTS}, which only allow {@code E-1} and
+     * {@code F-1}, so neither {@code A-1} nor {@code B-1}.
+     */
+    private static List<Case> findCasesViolatingDeadEndConstraints(List<Case> cases) {
+        return cases.stream()
+                .filter(c -> !c.get("E").equals("E-1") || !c.get("F").equals("F-1")
+                        || c.get("A").equals("A-1") || c.get("B").equals("B-1"))
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Pavel Nazimok - @pavelicii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.pavelicii.allpairs4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoGoodCacheTest {
+
+    private static final int PARAMETERS_COUNT = 4;
+
+    @Test
+    void shouldMatchNoGoodOnlyWhenAllItsValuesAreChosen() {
+        final NoGoodCache noGoodCache = new NoGoodCache(PARAMETERS_COUNT, NoGoodCache.MAX_NO_GOOD_COUNT);
+        noGoodCache.add(parameters(0, 2), chosenItems(1, 0, 0));
+
+        assertThat(noGoodCache.findMatch(2, chosenItems(1, 0, 0))).isEqualTo(parameters(0, 2));
+        assertThat(noGoodCache.findMatch(2, chosenItems(1, 1, 0))).isEqualTo(parameters(0, 2));
+        assertThat(noGoodCache.findMatch(2, chosenItems(0, 0, 0))).isNull();
+        assertThat(noGoodCache.findMatch(2, chosenItems(1, 0, 1))).isNull();
+        assertThat(noGoodCache.findMatch(1, chosenItems(1, 0))).isNull();
+        assertThat(noGoodCache.findMatch(3, chosenItems(1, 0, 0, 0))).isNull();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyMatchedNoGoodWhenFull() {
+        final NoGoodCache noGoodCache = new NoGoodCache(PARAMETERS_COUNT, 2);
+        noGoodCache.add(parameters(0, 1), chosenItems(0, 0));
+        noGoodCache.add(parameters(0, 1), chosenItems(1, 0));
+        assertThat(noGoodCache.findMatch(1, chosenItems(0, 0))).isEqualTo(parameters(0, 1));
+
+        noGoodCache.add(parameters(1, 2), chosenItems(0, 1, 1));
+
+        assertThat(noGoodCache.findMatch(1, chosenItems(1, 0))).isNull();
+        assertThat(noGoodCache.findMatch(1, chosenItems(0, 0))).isEqualTo(parameters(0, 1));
+        assertThat(noGoodCache.findMatch(2, chosenItems(0, 1, 1))).isEqualTo(parameters(1, 2));
+
+        noGoodCache.add(parameters(0, 1, 2), chosenItems(1, 1, 1));
+        noGoodCache.add(parameters(0, 1, 2), chosenItems(1, 1, 0));
+
+        assertThat(noGoodCache.findMatch(1, chosenItems(0, 0))).isNull();
+        assertThat(noGoodCache.findMatch(2, chosenItems(0, 1, 1))).isNull();
+        assertThat(noGoodCache.findMatch(2, chosenItems(1, 1, 1))).isEqualTo(parameters(0, 1, 2));
+        assertThat(noGoodCache.findMatch(2, chosenItems(1, 1, 0))).isEqualTo(parameters(0, 1, 2));
+    }
+
+    private static BitSet parameters(int... parameterIndexes) {
+        final BitSet parameters = new BitSet();
+        for (int parameterIndex : parameterIndexes) {
+            parameters.set(parameterIndex);
+        }
+        return parameters;
+    }
+
+    /**
+     * Creates {@link Item}s chosen for the first {@link Parameter}s, each {@link Parameter} having two values.
+     */
+    private static Item[] chosenItems(int... valueIndexes) {
+        final Item[] chosenItems = new Item[PARAMETERS_COUNT];
+        for (int p = 0; p < valueIndexes.length; p++) {
+            chosenItems[p] = new Item(2 * p + valueIndexes[p], p, valueIndexes[p], p + "-" + valueIndexes[p], "P" + p);
+        }
+        return chosenItems;
+    }
+}
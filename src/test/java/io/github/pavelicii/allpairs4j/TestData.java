@@ -18,6 +18,7 @@ package io.github.pavelicii.allpairs4j;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 
 @SuppressWarnings("checkstyle:MultipleStringLiterals")
 final class TestData {
@@ -52,6 +53,49 @@ final class TestData {
             new Parameter("20", "20-1", "20-2", "20-3", "20-4", "20-5", "20-6", "20-7", "20-8")
     );
 
+    /**
+     * {@link Parameter}s where values of {@code A} and {@code B} are rejected only when {@code E} and {@code F}
+     * are reached, after the {@link Parameter}s between them.
+     */
+    static final List<Parameter> DEAD_END_PARAMETERS = Arrays.asList(
+            new Parameter("A", "A-1", "A-2", "A-3"),
+            new Parameter("B", "B-1", "B-2", "B-3"),
+            new Parameter("C", "C-1", "C-2", "C-3"),
+            new Parameter("D", "D-1", "D-2", "D-3"),
+            new Parameter("E", "E-1", "E-2"),
+            new Parameter("F", "F-1", "F-2"),
+            new Parameter("G", "G-1", "G-2")
+    );
+
+    static final List<Predicate<ConstrainableCase>> DEAD_END_CONSTRAINTS = Arrays.asList(
+            c -> c.get("A").equals("A-1") && c.get("E").equals("E-1"),
+            c -> c.get("B").equals("B-1") && c.get("F").equals("F-1"),
+            c -> c.get("E").equals("E-2") && c.get("G").equals("G-1"),
+            c -> c.get("E").equals("E-2") && c.get("G").equals("G-2"),
+            c -> c.get("F").equals("F-2") && c.get("G").equals("G-1"),
+            c -> c.get("F").equals("F-2") && c.get("G").equals("G-2")
+    );
+
+    /**
+     * {@link Parameter}s where {@code D-1} is rejected after {@code B-2} or {@code B-3} because it leaves {@code F}
+     * with no values, either when {@code F} is reached or at once by forward checking.
+     */
+    static final List<Parameter> WIPE_OUT_PARAMETERS = Arrays.asList(
+            new Parameter("A", "A-1", "A-2"),
+            new Parameter("B", "B-1", "B-2", "B-3"),
+            new Parameter("C", "C-1", "C-2", "C-3", "C-4", "C-5"),
+            new Parameter("D", "D-1", "D-2"),
+            new Parameter("E", "E-1", "E-2", "E-3", "E-4", "E-5"),
+            new Parameter("F", "F-1", "F-2"),
+            new Parameter("G", "G-1", "G-2", "G-3", "G-4", "G-5", "G-6", "G-7", "G-8"),
+            new Parameter("H", "H-1", "H-2", "H-3")
+    );
+
+    static final List<Predicate<ConstrainableCase>> WIPE_OUT_CONSTRAINTS = Arrays.asList(
+            c -> c.get("F").equals("F-1") && !c.get("B").equals("B-1"),
+            c -> c.get("D").equals("D-1") && !c.get("F").equals("F-1")
+    );
+
     static final List<Case> EXPECTED_PAIRWISE_CASES = Arrays.asList(
             new Case("Browser", "Chrome", "OS", "Windows", "RAM", 2048, "Drive", "HDD"),
             new Case("Browser", "Safari", "OS", "Linux", "RAM", 4096, "Drive", "HDD"),
@@ -18,6 +18,7 @@ package io.github.pavelicii.allpairs4j;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -141,4 +142,51 @@ class ValidationTest {
                         .build()
         ).withStackTraceContaining("requireNonNull");
     }
+
+    @Test
+    void shouldThrowWhenTimeLimitIsNotPositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+                () -> new AllPairs.AllPairsBuilder()
+                        .withParameters(TestData.PARAMETERS)
+                        .withTimeLimit(Duration.ZERO)
+                        .build()
+        );
+    }
+
+    @Test
+    void shouldThrowWhenSeedCaseHasUnknownParameterOrValue() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+                () -> new AllPairs.AllPairsBuilder()
+                        .withParameters(TestData.PARAMETERS)
+                        .withSeedCase(new Case("Monitor", "4K"))
+                        .build()
+        );
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+                () -> new AllPairs.AllPairsBuilder()
+                        .withParameters(TestData.PARAMETERS)
+                        .withSeedCase(new Case("Browser", "Opera"))
+                        .build()
+        );
+    }
+
+    @Test
+    void shouldThrowWhenSeedCaseViolatesConstraints() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+                () -> new AllPairs.AllPairsBuilder()
+                        .withParameters(TestData.PARAMETERS)
+                        .withConstraint(c -> c.get("Browser").equals("Safari") && !c.get("OS").equals("macOS"))
+                        .withSeedCase(new Case("Browser", "Safari", "OS", "Linux"))
+                        .build()
+        );
+    }
+
+    @Test
+    void shouldThrowWhenMaxCaseCountIsNotPositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+                () -> new AllPairs.AllPairsBuilder()
+                        .withParameters(TestData.PARAMETERS)
+                        .withMaxCaseCount(0)
+                        .build()
+        );
+    }
 }